@@ -0,0 +1,161 @@
+package com.coocaa.lite.os.common.utils;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:一次调用（getValueList、removeObject、copyValue等）的遍历统计，开启{@link TraverseOptions#metrics(TraversalMetrics)}时交给监听器
+ * 计数在遍历线程中累加，并行遍历时各个任务分别计数，结束后合并；分配字节数只统计调用线程
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class CallMetrics {
+
+    private final String entryPoint;
+    private final Class<?> rootClass;
+
+    long objectsVisited;
+    long fieldsRead;
+    long elementsScanned;
+    long matches;
+    long removals;
+    long errors;
+    private long nanos;
+    private long allocatedBytes = -1;
+
+    /**
+     * 开始时间和开始时已分配的字节数
+     */
+    private long startNanos;
+    private long startBytes;
+    /**
+     * JFR事件，没有录制时为null
+     */
+    Object event;
+
+    CallMetrics(String entryPoint, Class<?> rootClass) {
+        this.entryPoint = entryPoint;
+        this.rootClass = rootClass;
+    }
+
+    void start() {
+        startBytes = TraversalMetrics.allocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        nanos = System.nanoTime() - startNanos;
+        if (startBytes >= 0) {
+            allocatedBytes = TraversalMetrics.allocatedBytes() - startBytes;
+        }
+    }
+
+    /**
+     * 合并并行任务的计数
+     */
+    void merge(CallMetrics other) {
+        objectsVisited += other.objectsVisited;
+        fieldsRead += other.fieldsRead;
+        elementsScanned += other.elementsScanned;
+        matches += other.matches;
+        removals += other.removals;
+        errors += other.errors;
+    }
+
+    /**
+     * 入口方法，例如getValueList
+     *
+     * @return
+     */
+    public String entryPoint() {
+        return entryPoint;
+    }
+
+    /**
+     * 传入的对象class，可能是List或者Map
+     *
+     * @return
+     */
+    public Class<?> rootClass() {
+        return rootClass;
+    }
+
+    /**
+     * 进入过的自定义对象和Map节点个数，被多处引用的对象每次引用都计数
+     *
+     * @return
+     */
+    public long objectsVisited() {
+        return objectsVisited;
+    }
+
+    /**
+     * 读取过的字段个数，过滤条件判断时读取的字段不计
+     *
+     * @return
+     */
+    public long fieldsRead() {
+        return fieldsRead;
+    }
+
+    /**
+     * 遍历过的list元素个数
+     *
+     * @return
+     */
+    public long elementsScanned() {
+        return elementsScanned;
+    }
+
+    /**
+     * 交给访问者的字段值个数，例如取到的值、比对索引中放入的值
+     *
+     * @return
+     */
+    public long matches() {
+        return matches;
+    }
+
+    /**
+     * 被过滤掉的对象个数
+     *
+     * @return
+     */
+    public long removals() {
+        return removals;
+    }
+
+    /**
+     * 读写字段失败的次数，失败的字段跳过，详细信息见日志
+     *
+     * @return
+     */
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * 耗时，纳秒
+     *
+     * @return
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * 调用线程分配的字节数，JVM不支持时为-1
+     *
+     * @return
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return entryPoint + "(" + (null == rootClass ? null : rootClass.getName()) + ") " + nanos / 1000 + "us"
+                + " objects=" + objectsVisited + " fields=" + fieldsRead + " elements=" + elementsScanned
+                + " matches=" + matches + " removals=" + removals + " errors=" + errors + " bytes=" + allocatedBytes;
+    }
+}
@@ -0,0 +1,160 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:类字段元数据缓存，按class缓存已经setAccessible的字段以及字段分类
+ * 类有编译期生成的GeneratedAccessor时，生成类覆盖的字段直接使用生成的读写方法
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class ClassInfo {
+
+    /**
+     * 使用ClassValue缓存，class被卸载时缓存跟着回收，不会拖住classloader
+     */
+    private static final ClassValue<ClassInfo> CACHE = new ClassValue<ClassInfo>() {
+        @Override
+        protected ClassInfo computeValue(Class<?> type) {
+            return new ClassInfo(type);
+        }
+    };
+
+    private static final FieldInfo[] NO_FIELDS = new FieldInfo[0];
+
+    final Class<?> type;
+    final String simpleName;
+    /**
+     * 与ReflectUtil.isList一致
+     */
+    final boolean list;
+    /**
+     * 与ReflectUtil.isCustomClass一致
+     */
+    final boolean custom;
+    /**
+     * 当前类声明的字段（不含父类），只有自定义对象才会解析，Map不解析
+     */
+    final FieldInfo[] fields;
+    /**
+     * 父类信息，父类为Object时为null
+     */
+    final ClassInfo superInfo;
+
+    private ClassInfo(Class<?> type) {
+        this.type = type;
+        this.simpleName = type.getSimpleName();
+        this.list = ReflectUtil.isList(type);
+        this.custom = ReflectUtil.isCustomClass(type);
+        if (list || !custom || Map.class.isAssignableFrom(type)) {
+            //list和基本数据类型不会访问字段，不需要解析；Map只按key访问（Map节点），不解析内部实现的字段
+            this.fields = NO_FIELDS;
+            this.superInfo = null;
+            return;
+        }
+        Field[] declared = type.getDeclaredFields();
+        GeneratedAccessor generated = loadGenerated(type);
+        String[] generatedNames = null == generated ? null : generated.fieldNames();
+        FieldInfo[] infos = new FieldInfo[declared.length];
+        for (int i = 0; i < declared.length; i++) {
+            int index = null == generatedNames ? -1 : indexOf(generatedNames, declared[i].getName());
+            infos[i] = new FieldInfo(this, declared[i], generated, index);
+        }
+        this.fields = infos;
+        Class<?> superClass = type.getSuperclass();
+        this.superInfo = null == superClass || superClass == Object.class ? null : of(superClass);
+    }
+
+    /**
+     * 加载编译期生成的读写器，类没有标记GenerateAccessors时返回null
+     * 生成类存在但是无法使用说明编译产物有问题，直接抛异常，不静默退回反射
+     *
+     * @param type
+     * @return
+     */
+    private static GeneratedAccessor loadGenerated(Class<?> type) {
+        Class<?> cls;
+        try {
+            cls = Class.forName(type.getName() + GeneratedAccessor.SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        GeneratedAccessor generated;
+        try {
+            generated = (GeneratedAccessor) cls.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("invalid generated accessor " + cls.getName(), e);
+        }
+        if (generated.type() != type) {
+            throw new IllegalStateException("generated accessor " + cls.getName() + " is for " + generated.type().getName());
+        }
+        return generated;
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取class的元数据，第一次访问时解析
+     *
+     * @param cls
+     * @return
+     */
+    static ClassInfo of(Class<?> cls) {
+        return CACHE.get(cls);
+    }
+
+    /**
+     * 单个字段的元数据
+     */
+    static final class FieldInfo {
+        final ClassInfo owner;
+        final Field field;
+        final String name;
+        final Class<?> type;
+        final boolean list;
+        final boolean custom;
+        final boolean isFinal;
+        final boolean isStatic;
+        /**
+         * 字段读写器
+         */
+        final FieldAccessor accessor;
+        /**
+         * 类名_字段名
+         */
+        final String uniqueName;
+
+        /**
+         * @param generated 编译期生成的读写器，没有时为null
+         * @param index     字段在generated中的序号，没有生成时为-1
+         */
+        private FieldInfo(ClassInfo owner, Field field, GeneratedAccessor generated, int index) {
+            if (index < 0) {
+                field.setAccessible(true);
+            }
+            this.owner = owner;
+            this.field = field;
+            this.name = field.getName();
+            this.type = field.getType();
+            this.list = ReflectUtil.isList(type);
+            this.custom = ReflectUtil.isCustomClass(type);
+            int modifiers = field.getModifiers();
+            this.isFinal = Modifier.isFinal(modifiers);
+            this.isStatic = Modifier.isStatic(modifiers);
+            this.accessor = index < 0 ? new FieldAccessor(field) : new FieldAccessor(field, generated, index);
+            this.uniqueName = ReflectUtil.keyAddValue(owner.simpleName, name);
+        }
+    }
+}
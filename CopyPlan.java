@@ -0,0 +1,530 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:编译好的复制计划，compareMap/valueMap/filterMap只解析一次
+ * 也可以按字段路径编译（{@link #compile(Class, Class, Map, Map, TraverseOptions)}），比对时只访问路径上的对象
+ * 计划不可变，可以在多个线程之间共享，例如每个接口持有一个
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class CopyPlan {
+
+    /**
+     * 同一个比对值对应多个源对象时的处理方式
+     */
+    public enum DuplicatePolicy {
+        /**
+         * 取第一个源对象
+         */
+        FIRST,
+        /**
+         * 取最后一个源对象
+         */
+        LAST,
+        /**
+         * 抛出IllegalStateException
+         */
+        ERROR
+    }
+
+    /**
+     * 源比对key -> 比对字段序号，value为空的目标key已经补充为key
+     */
+    private final Map<String, Integer> compareKeysSrc;
+    /**
+     * 目标比对key -> 比对字段序号
+     */
+    private final Map<String, Integer> compareKeysTarget;
+    /**
+     * 比对字段序号 -> 目标比对key，用于异常信息
+     */
+    private final String[] slotNames;
+    private final Reachability reachSrc;
+    private final Reachability reachTarget;
+    /**
+     * 目标比对字段和过滤字段合在一起的可达性索引，过滤和建索引在同一次遍历中完成
+     */
+    private final Reachability reachTargetFiltered;
+    private final TraverseOptions options;
+    private final Map<String, String> valueMap;
+    /**
+     * 过滤条件，没有时为null
+     */
+    private final RemoveFilter filter;
+    /**
+     * 按路径编译时源比对路径及其比对字段序号，比对字段序号 -> 目标比对路径；按类名_字段名编译时为null
+     */
+    private final FieldPath[] srcPaths;
+    private final int[] srcSlots;
+    private final FieldPath[] targetPaths;
+    /**
+     * 按路径编译时值路径最后的源字段和目标字段，一一对应；按类名_字段名编译时为null
+     */
+    private final FieldInfo[] valueSrcFields;
+    private final FieldInfo[] valueTargetFields;
+    /**
+     * 源class -> 目标class -> 复制器，计划的valueMap不变，每对class只解析一次，复制每个对象时不再按valueMap查缓存
+     */
+    private final ClassValue<ConcurrentHashMap<Class<?>, ObjectCopier>> copiers = new ClassValue<ConcurrentHashMap<Class<?>, ObjectCopier>>() {
+        @Override
+        protected ConcurrentHashMap<Class<?>, ObjectCopier> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private CopyPlan(Map<String, Integer> compareKeysSrc, Map<String, Integer> compareKeysTarget, String[] slotNames,
+                     Map<String, String> valueMap, RemoveFilter filter, TraverseOptions options,
+                     FieldPath[] srcPaths, int[] srcSlots, FieldPath[] targetPaths, FieldInfo[] valueSrcFields, FieldInfo[] valueTargetFields) {
+        this.compareKeysSrc = compareKeysSrc;
+        this.compareKeysTarget = compareKeysTarget;
+        this.slotNames = slotNames;
+        this.reachSrc = Reachability.of(compareKeysSrc.keySet());
+        this.reachTarget = Reachability.of(compareKeysTarget.keySet());
+        this.valueMap = valueMap;
+        this.filter = filter;
+        this.reachTargetFiltered = null == filter ? reachTarget : Reachability.of(reachTarget, filter.reachability());
+        this.options = options;
+        this.srcPaths = srcPaths;
+        this.srcSlots = srcSlots;
+        this.targetPaths = targetPaths;
+        this.valueSrcFields = valueSrcFields;
+        this.valueTargetFields = valueTargetFields;
+    }
+
+    /**
+     * 编译复制计划，传入的map会被复制，之后修改不影响计划
+     *
+     * @param compareMap 比对值映射
+     *                   遵循 src:target规则 字段名由class.getSimpleName_filedName组成，value为空时与key相同
+     * @param valueMap   替换值字段映射，可以为null
+     *                   遵循 src:target规则 字段名由class.getSimpleName_filedName组成
+     * @param filterMap  过滤映射关系，可以为null
+     *                   遵循规则是： 类名：字段名：字段值List
+     * @return
+     */
+    public static CopyPlan compile(Map<String, String> compareMap, Map<String, String> valueMap, Map<String, Map<String, List<Object>>> filterMap) {
+        return compile(compareMap, valueMap, filterMap, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 编译复制计划，传入的map会被复制，之后修改不影响计划
+     *
+     * @param compareMap 比对值映射
+     *                   遵循 src:target规则 字段名由class.getSimpleName_filedName组成，value为空时与key相同
+     * @param valueMap   替换值字段映射，可以为null
+     *                   遵循 src:target规则 字段名由class.getSimpleName_filedName组成
+     * @param filterMap  过滤映射关系，可以为null
+     *                   遵循规则是： 类名：字段名：字段值List
+     * @param options    遍历选项，例如并行遍历大list，或者把Map作为节点（{@link TraverseOptions#mapNodes(String)}）
+     * @return
+     */
+    public static CopyPlan compile(Map<String, String> compareMap, Map<String, String> valueMap, Map<String, Map<String, List<Object>>> filterMap,
+                                   TraverseOptions options) {
+        Map<String, Integer> compareKeysSrc = new HashMap<>();
+        Map<String, Integer> compareKeysTarget = new HashMap<>();
+        List<String> slotNames = new ArrayList<>();
+        if (null != compareMap) {
+            for (Map.Entry<String, String> entry : compareMap.entrySet()) {
+                String key = entry.getKey();
+                String value = entry.getValue();
+                if (null == value || value.isEmpty()) {
+                    //补充一下值，赋值为key
+                    value = key;
+                }
+                //多个源key指向同一个目标key时共用一个序号
+                Integer slot = compareKeysTarget.get(value);
+                if (null == slot) {
+                    slot = slotNames.size();
+                    slotNames.add(value);
+                    compareKeysTarget.put(value, slot);
+                }
+                compareKeysSrc.put(key, slot);
+            }
+        }
+
+        Map<String, String> values = null;
+        if (null != valueMap && valueMap.size() != 0) {
+            values = Collections.unmodifiableMap(new HashMap<>(valueMap));
+        }
+
+        RemoveFilter filter = null;
+        if (null != filterMap && filterMap.size() != 0) {
+            filter = RemoveFilter.compile(filterMap);
+        }
+        return new CopyPlan(Collections.unmodifiableMap(compareKeysSrc), Collections.unmodifiableMap(compareKeysTarget),
+                slotNames.toArray(new String[0]), values, filter, null == options ? TraverseOptions.DEFAULT : options, null, null, null, null, null);
+    }
+
+    /**
+     * 按字段路径编译复制计划，只访问比对路径上的对象，不会因为不同包下的同名class混在一起
+     * 例如ProductPage上 records[*].id -> OrderDto上 items[*].productId，值路径 records[*].name -> items[*].productName
+     * 值路径需要与某个比对路径在同一层对象上，匹配的对象之间与按名称编译一样复制同名字段和值路径指定的字段
+     * 值路径按解析出的字段复制，不拼接类名；对象是字段所在class的子类时同样复制
+     * 按路径编译的计划不支持{@link #index(Object)}
+     *
+     * @param srcClass     源对象class，源对象是List时为元素class
+     * @param targetClass  目标对象class，目标对象是List时为元素class
+     * @param comparePaths 比对路径映射 src:target，value为空时与key相同
+     * @param valuePaths   替换值路径映射 src:target，可以为null
+     * @param options      遍历选项，用于调用统计和Map节点的复制
+     * @return
+     * @throws IllegalArgumentException 路径无法解析，或者值路径不在比对路径所在的对象上
+     */
+    public static CopyPlan compile(Class<?> srcClass, Class<?> targetClass, Map<String, String> comparePaths, Map<String, String> valuePaths,
+                                   TraverseOptions options) {
+        List<FieldPath> srcPaths = new ArrayList<>();
+        List<Integer> srcSlots = new ArrayList<>();
+        List<FieldPath> targetPaths = new ArrayList<>();
+        //目标路径 -> 比对字段序号
+        Map<String, Integer> slots = new HashMap<>();
+        if (null != comparePaths) {
+            for (Map.Entry<String, String> entry : comparePaths.entrySet()) {
+                String value = null == entry.getValue() || entry.getValue().isEmpty() ? entry.getKey() : entry.getValue();
+                Integer slot = slots.get(value);
+                if (null == slot) {
+                    slot = targetPaths.size();
+                    targetPaths.add(FieldPath.compile(targetClass, value));
+                    slots.put(value, slot);
+                }
+                srcPaths.add(FieldPath.compile(srcClass, entry.getKey()));
+                srcSlots.add(slot);
+            }
+        }
+
+        //值路径解析成字段对，复制时直接按字段匹配，不再换成 类名_字段名
+        List<FieldInfo> valueSrcFields = new ArrayList<>();
+        List<FieldInfo> valueTargetFields = new ArrayList<>();
+        if (null != valuePaths) {
+            for (Map.Entry<String, String> entry : valuePaths.entrySet()) {
+                FieldPath src = FieldPath.compile(srcClass, entry.getKey());
+                FieldPath target = FieldPath.compile(targetClass, entry.getValue());
+                checkOwner(src, srcPaths);
+                checkOwner(target, targetPaths);
+                valueSrcFields.add(src.leaf());
+                valueTargetFields.add(target.leaf());
+            }
+        }
+
+        String[] slotNames = new String[targetPaths.size()];
+        for (int i = 0; i < slotNames.length; i++) {
+            slotNames[i] = targetPaths.get(i).expression();
+        }
+        int[] slotArray = new int[srcSlots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = srcSlots.get(i);
+        }
+        return new CopyPlan(Collections.<String, Integer>emptyMap(), Collections.<String, Integer>emptyMap(), slotNames, null, null,
+                null == options ? TraverseOptions.DEFAULT : options,
+                srcPaths.toArray(new FieldPath[0]), slotArray, targetPaths.toArray(new FieldPath[0]),
+                valueSrcFields.toArray(new FieldInfo[0]), valueTargetFields.toArray(new FieldInfo[0]));
+    }
+
+    /**
+     * 值路径需要在某个比对路径所在的对象上
+     */
+    private static void checkOwner(FieldPath valuePath, List<FieldPath> comparePaths) {
+        for (FieldPath comparePath : comparePaths) {
+            if (comparePath.ownerExpression().equals(valuePath.ownerExpression())) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("value path " + valuePath.expression() + " is not on the objects of any compare path");
+    }
+
+    /**
+     * 按计划把src中匹配的数据复制到target
+     *
+     * @param src    源对象
+     * @param target 目标对象
+     */
+    public void apply(Object src, Object target) {
+        if (null == target) {
+            return;
+        }
+        if (null == src || slotNames.length == 0) {
+            if (null != filter) {
+                ReflectUtil.removeObject(target, filter, options);
+            }
+            return;
+        }
+
+        CallMetrics metrics = options.begin("copyValue", target.getClass());
+        try {
+            //1 过滤目标对象，同时获取包含当前关联key的对象，源字段和目标字段用同一个比对序号
+            Multimap<JoinKey, Object> reflectTarget = ArrayListMultimap.create();
+            if (null != targetPaths) {
+                reflectPaths(target, targetPaths, null, new JoinVisitor(compareKeysTarget, reflectTarget), metrics);
+            } else if (indexTarget(reflectTarget).record(metrics).walk(target, ClassInfo.of(target.getClass()))) {
+                //目标对象本身被过滤掉
+                return;
+            }
+
+            //2 遍历源对象，在目标索引中命中的直接赋值
+            joinIndex(Collections.singletonList(src), reflectTarget, DuplicatePolicy.FIRST, metrics);
+        } finally {
+            options.end(metrics);
+        }
+    }
+
+    /**
+     * 为长期持有的目标对象建立比对索引，之后多次赋值不再遍历整个目标对象
+     * 目标对象上增加、删除子对象时通过索引的add/remove增量维护，开销与变化的子对象大小成正比
+     * 有过滤条件时建立索引的同时过滤目标对象
+     *
+     * @param target 目标对象，可以是List
+     * @return
+     * @throws UnsupportedOperationException 按路径编译的计划，子对象无法按根对象的路径遍历
+     */
+    public TargetIndex index(Object target) {
+        if (null != targetPaths) {
+            throw new UnsupportedOperationException("index is not supported by path plans");
+        }
+        TargetIndex index = new TargetIndex(this);
+        index.add(target);
+        return index;
+    }
+
+    /**
+     * 批量赋值，所有源对象和目标对象各遍历一次，按比对值做hash join
+     * 只为对象较少的一边建立索引，另一边边遍历边查找，只记录命中的对象
+     * 一样多时为目标对象建立索引，按源对象的顺序赋值，源对象在内存中连续时访问更集中
+     * 复杂度为O(n+m)，不需要按对或者按子列表多次调用
+     *
+     * @param srcList    源对象集合
+     * @param targetList 目标对象集合，filterMap过滤掉的目标对象不参与赋值
+     * @param policy     同一个比对值对应多个源对象时的处理方式
+     */
+    public void applyAll(Collection<?> srcList, Collection<?> targetList, DuplicatePolicy policy) {
+        if (null == srcList || null == targetList || srcList.isEmpty() || targetList.isEmpty() || slotNames.length == 0) {
+            return;
+        }
+        CallMetrics metrics = options.begin("copyValues", targetList.getClass());
+        try {
+            DuplicatePolicy duplicatePolicy = null == policy ? DuplicatePolicy.FIRST : policy;
+            if (srcList.size() >= targetList.size()) {
+                Multimap<JoinKey, Object> reflectTarget = ArrayListMultimap.create();
+                reflectTargets(targetList, new JoinVisitor(compareKeysTarget, reflectTarget), metrics);
+                joinIndex(srcList, reflectTarget, duplicatePolicy, metrics);
+                return;
+            }
+            Multimap<JoinKey, Object> reflectSrc = ArrayListMultimap.create();
+            reflectSources(srcList, new JoinVisitor(compareKeysSrc, reflectSrc), metrics);
+            if (reflectSrc.isEmpty()) {
+                return;
+            }
+            ProbeVisitor targets = new ProbeVisitor(compareKeysTarget, reflectSrc);
+            reflectTargets(targetList, targets, metrics);
+            joinTargets(reflectSrc, targets, duplicatePolicy);
+        } finally {
+            options.end(metrics);
+        }
+    }
+
+    TraverseOptions options() {
+        return options;
+    }
+
+    /**
+     * 遍历一批源对象的比对字段，同一批对象共用遍历器和访问记录，多个对象引用的同一个子对象只遍历一次
+     *
+     * @param visitor 建立索引（{@link JoinVisitor}）或者到目标索引中查找（{@link ProbeVisitor}）
+     * @param metrics 调用统计，为null时不统计
+     */
+    private void reflectSources(Collection<?> srcList, FieldVisitor visitor, CallMetrics metrics) {
+        if (null != srcPaths) {
+            for (Object src : srcList) {
+                reflectPaths(src, srcPaths, srcSlots, visitor, metrics);
+            }
+            return;
+        }
+        Traversal traversal = new Traversal(null, new FieldVisitor[]{visitor}, reachSrc, options, VisitedSet.of(options)).record(metrics);
+        for (Object src : srcList) {
+            if (null != src) {
+                traversal.walk(src, ClassInfo.of(src.getClass()));
+            }
+        }
+    }
+
+    /**
+     * 遍历一批目标对象的比对字段，同时过滤目标对象
+     *
+     * @param visitor 建立索引（{@link JoinVisitor}）或者到源索引中查找（{@link ProbeVisitor}）
+     * @param metrics 调用统计，为null时不统计
+     */
+    private void reflectTargets(Collection<?> targetList, FieldVisitor visitor, CallMetrics metrics) {
+        Traversal targets = null == targetPaths ? indexTarget(visitor).record(metrics) : null;
+        for (Object target : targetList) {
+            if (null == target) {
+                continue;
+            }
+            if (null != targetPaths) {
+                reflectPaths(target, targetPaths, null, visitor, metrics);
+            } else {
+                targets.walk(target, ClassInfo.of(target.getClass()));
+            }
+        }
+    }
+
+    /**
+     * 按路径遍历比对字段，只访问路径上的对象
+     *
+     * @param slots 每个路径的比对字段序号，为null时为路径的下标
+     */
+    private static void reflectPaths(Object root, FieldPath[] paths, int[] slots, final FieldVisitor visitor, CallMetrics metrics) {
+        for (int i = 0; i < paths.length; i++) {
+            final Integer slot = null == slots ? i : slots[i];
+            paths[i].walk(root, new FieldPath.Visitor() {
+                @Override
+                public void visit(Object owner, Object value) {
+                    if (null != value) {
+                        visitor.visit(slot, owner, value);
+                    }
+                }
+            }, metrics);
+        }
+    }
+
+    /**
+     * 目标对象的遍历器，一次遍历完成过滤和比对索引，被过滤掉的对象不会进入索引
+     * walk返回目标对象本身是否被过滤掉
+     *
+     * @param reflectTarget 比对索引
+     */
+    Traversal indexTarget(Multimap<JoinKey, Object> reflectTarget) {
+        return indexTarget(new JoinVisitor(compareKeysTarget, reflectTarget));
+    }
+
+    private Traversal indexTarget(FieldVisitor visitor) {
+        return new Traversal(filter, new FieldVisitor[]{visitor}, reachTargetFiltered, options, VisitedSet.of(options));
+    }
+
+    /**
+     * 只记录访问过的目标对象，不过滤也不读取字段，用于找出一个子对象下面所有可能在索引中的对象
+     *
+     * @param visited 访问记录
+     */
+    Traversal walkTarget(VisitedSet visited) {
+        return new Traversal(null, null, reachTarget, options.sequential(), visited);
+    }
+
+    /**
+     * 遍历源对象，到目标索引中查找并赋值，源对象不建立索引
+     * 每个命中的比对值先按policy选出源对象，全部选完再赋值，ERROR时不会赋值到一半才抛异常
+     *
+     * @param reflectTarget 目标对象的比对索引
+     * @param metrics       调用统计，为null时不统计
+     */
+    void joinIndex(Collection<?> srcList, Multimap<JoinKey, Object> reflectTarget, DuplicatePolicy policy, CallMetrics metrics) {
+        if (reflectTarget.isEmpty()) {
+            return;
+        }
+        ProbeVisitor sources = new ProbeVisitor(compareKeysSrc, reflectTarget);
+        reflectSources(srcList, sources, metrics);
+        Map<JoinKey, Object> picked = new LinkedHashMap<>();
+        for (int i = 0; i < sources.keys.size(); i++) {
+            JoinKey key = sources.keys.get(i);
+            Object srcObject = sources.owners.get(i);
+            Object first = picked.get(key);
+            if (null == first || policy == DuplicatePolicy.LAST) {
+                picked.put(key, srcObject);
+            } else if (policy == DuplicatePolicy.ERROR && first != srcObject) {
+                throw duplicate(key, Collections.frequency(sources.keys, key));
+            }
+        }
+        for (Map.Entry<JoinKey, Object> entry : picked.entrySet()) {
+            for (Object targetObject : reflectTarget.get(entry.getKey())) {
+                copy(entry.getValue(), targetObject);
+            }
+        }
+    }
+
+    /**
+     * 命中源索引的目标对象按遍历顺序赋值
+     *
+     * @param reflectSrc 源对象的比对索引
+     * @param targets    命中的目标对象
+     */
+    private void joinTargets(Multimap<JoinKey, Object> reflectSrc, ProbeVisitor targets, DuplicatePolicy policy) {
+        if (policy == DuplicatePolicy.ERROR) {
+            //先校验，避免赋值到一半才抛异常，校验通过后每个比对值只有一个源对象
+            Set<JoinKey> checked = new HashSet<>();
+            for (int i = 0; i < targets.keys.size(); i++) {
+                if (checked.add(targets.keys.get(i))) {
+                    pick(targets.keys.get(i), (List<Object>) reflectSrc.get(targets.keys.get(i)), policy);
+                }
+            }
+            policy = DuplicatePolicy.FIRST;
+        }
+        for (int i = 0; i < targets.keys.size(); i++) {
+            JoinKey key = targets.keys.get(i);
+            copy(pick(key, (List<Object>) reflectSrc.get(key), policy), targets.owners.get(i));
+        }
+    }
+
+    /**
+     * 复制匹配的一对对象，Map节点按key复制
+     */
+    private void copy(Object src, Object target) {
+        if (null != options.mapClassName(src) || null != options.mapClassName(target)) {
+            ReflectUtil.copyObject(src, target, valueMap, options);
+            return;
+        }
+        copier(src.getClass(), target.getClass()).copy(src, target);
+    }
+
+    /**
+     * 计划内一对class的复制器，第一次用到时解析
+     */
+    ObjectCopier copier(Class<?> srcCls, Class<?> targetCls) {
+        ConcurrentHashMap<Class<?>, ObjectCopier> byTarget = copiers.get(srcCls);
+        ObjectCopier copier = byTarget.get(targetCls);
+        if (null == copier) {
+            copier = null == valueSrcFields ? ObjectCopier.of(srcCls, targetCls, valueMap)
+                    : ObjectCopier.compile(srcCls, targetCls, valueSrcFields, valueTargetFields);
+            ObjectCopier exist = byTarget.putIfAbsent(targetCls, copier);
+            if (null != exist) {
+                copier = exist;
+            }
+        }
+        return copier;
+    }
+
+    private Object pick(JoinKey key, List<Object> srcObjects, DuplicatePolicy policy) {
+        switch (policy) {
+            case LAST:
+                return srcObjects.get(srcObjects.size() - 1);
+            case ERROR:
+                Object first = srcObjects.get(0);
+                for (int i = 1; i < srcObjects.size(); i++) {
+                    if (srcObjects.get(i) != first) {
+                        throw duplicate(key, srcObjects.size());
+                    }
+                }
+                return first;
+            default:
+                return srcObjects.get(0);
+        }
+    }
+
+    private IllegalStateException duplicate(JoinKey key, int count) {
+        return new IllegalStateException("duplicate source for key " + ReflectUtil.keyAddValue(slotNames[key.slot], key.value) + ": " + count);
+    }
+}
@@ -0,0 +1,465 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:深复制对象图，字段分类与遍历一致（isList/isCustomClass），用显式工作栈代替递归
+ * 普通值按引用复制，List按原大小预分配，自定义对象用无参构造创建后逐个字段复制，基础类型字段不装箱
+ * 同一个对象被多处引用时只复制一次，复制结果中仍然是同一个对象，循环引用也保持不变
+ * Set等集合的元素在所有对象都填充完成后才加入集合，HashSet和TreeSet按复制后的内容计算hashCode和比较
+ * 多个Set之间按待填充栈的出栈顺序加入，元素内部的Set先于外层Set；元素之间有循环引用，或者元素的hashCode依赖另一个更晚出栈的Set时无法保证
+ * 带过滤条件时边复制边过滤，规则与removeObject一致：被过滤掉的对象不复制，字段为null，不加入list；源对象不会被修改
+ * 普通Map的value和Set中的元素也会过滤（value为null，不加入Set），removeObject不进入这两种容器
+ * 复制器有状态，只能在一个线程中使用
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@Slf4j
+final class DeepCopier {
+
+    /**
+     * 被过滤掉的对象在复制记录中的标记
+     */
+    private static final Object REJECTED = new Object();
+
+    private static final ClassValue<Shape> SHAPES = new ClassValue<Shape>() {
+        @Override
+        protected Shape computeValue(Class<?> type) {
+            return new Shape(type);
+        }
+    };
+
+    /**
+     * 过滤条件，没有时为null
+     */
+    private final RemoveFilter filter;
+    private final TraverseOptions options;
+    /**
+     * 源对象 -> 复制结果，不记录访问过的对象时为null
+     */
+    private final IdentityHashMap<Object, Object> copies;
+    /**
+     * 待填充的(源对象, 复制结果)，对象创建后立即挂到上层，内容之后填充
+     * 源对象为PendingAdd时表示其上方的元素子树都已填充完成，放入加入集合的队列
+     */
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    /**
+     * 调用统计，为null时不统计；复制的对象计入objectsVisited，复制的字段计入fieldsRead
+     */
+    private final CallMetrics metrics;
+
+    DeepCopier(RemoveFilter filter, TraverseOptions options, CallMetrics metrics) {
+        this.filter = null == filter || filter.isEmpty() ? null : filter;
+        this.options = options;
+        this.copies = options.isTrackVisited() ? new IdentityHashMap<Object, Object>() : null;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 复制对象图
+     *
+     * @param root 数据对象，可以是List
+     * @return 复制结果，root被过滤掉时返回null
+     */
+    Object copy(Object root) {
+        Object copy = copyOf(root);
+        //元素可能同时被更早创建、还没有填充的对象引用，所有对象填充完成后再按出栈顺序加入集合
+        List<PendingAdd> adds = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            Object src = pending.pop();
+            Object target = pending.pop();
+            if (src instanceof PendingAdd) {
+                adds.add((PendingAdd) src);
+            } else {
+                fill(src, target);
+            }
+        }
+        for (PendingAdd add : adds) {
+            add.addTo();
+        }
+        return copy == REJECTED ? null : copy;
+    }
+
+    /**
+     * 创建一个值的复制结果，需要填充内容的放入待填充栈
+     *
+     * @return 被过滤掉时返回REJECTED
+     */
+    private Object copyOf(Object value) {
+        if (null == value) {
+            return null;
+        }
+        if (null != copies) {
+            Object exist = copies.get(value);
+            if (null != exist) {
+                return exist;
+            }
+        }
+        Shape shape = SHAPES.get(value.getClass());
+        Object copy;
+        switch (shape.kind) {
+            case Shape.OBJECT:
+                if (null != filter && filter.rejects(value, shape.info)) {
+                    copy = REJECTED;
+                } else {
+                    copy = shape.newInstance();
+                }
+                break;
+            case Shape.LIST:
+                copy = shape.newList(((List<?>) value).size());
+                break;
+            case Shape.MAP:
+                String className = options.mapClassName(value);
+                if (null != filter && null != className && filter.rejects((Map<?, ?>) value, className)) {
+                    copy = REJECTED;
+                } else {
+                    copy = shape.newMap((Map<?, ?>) value);
+                }
+                break;
+            case Shape.COLLECTION:
+                copy = shape.newCollection((Collection<?>) value);
+                break;
+            default:
+                //普通值以及无法复制的JDK对象按引用复制
+                return value;
+        }
+        if (null != metrics) {
+            metrics.objectsVisited++;
+            if (copy == REJECTED) {
+                metrics.removals++;
+            }
+        }
+        if (null != copies) {
+            copies.put(value, copy);
+        }
+        if (copy != REJECTED) {
+            pending.push(copy);
+            pending.push(value);
+        }
+        return copy;
+    }
+
+    private void fill(Object src, Object copy) {
+        Shape shape = SHAPES.get(src.getClass());
+        switch (shape.kind) {
+            case Shape.OBJECT:
+                fillObject(src, copy, shape);
+                break;
+            case Shape.MAP:
+                //复制结果由newMap创建
+                @SuppressWarnings("unchecked")
+                Map<Object, Object> map = (Map<Object, Object>) copy;
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) src).entrySet()) {
+                    if (null != metrics) {
+                        metrics.fieldsRead++;
+                    }
+                    Object value = copyOf(entry.getValue());
+                    //被过滤掉的值置为null；Map节点与removeObject一致，普通Map只有deepCopy会过滤
+                    map.put(entry.getKey(), value == REJECTED ? null : value);
+                }
+                break;
+            case Shape.LIST:
+                @SuppressWarnings("unchecked")
+                List<Object> list = (List<Object>) copy;
+                for (Object item : (List<?>) src) {
+                    if (null != metrics) {
+                        metrics.elementsScanned++;
+                    }
+                    Object value = copyOf(item);
+                    if (value != REJECTED) {
+                        list.add(value);
+                    }
+                }
+                break;
+            default:
+                //元素先放入PendingAdd，压在元素的待填充项下面，元素及其子对象都填充后出栈，进入加入集合的队列
+                PendingAdd add = new PendingAdd(copy, ((Collection<?>) src).size());
+                pending.push(copy);
+                pending.push(add);
+                for (Object item : (Collection<?>) src) {
+                    if (null != metrics) {
+                        metrics.elementsScanned++;
+                    }
+                    Object value = copyOf(item);
+                    if (value != REJECTED) {
+                        add.items.add(value);
+                    }
+                }
+                break;
+        }
+    }
+
+    private void fillObject(Object src, Object copy, Shape shape) {
+        if (null != metrics) {
+            metrics.fieldsRead += shape.primitives.length + shape.values.length + shape.children.length;
+        }
+        for (FieldAccessor f : shape.primitives) {
+            try {
+                f.copy(src, f, copy);
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                failed(f, e);
+            }
+        }
+        //构造方法可能给字段赋了默认值，null也要复制
+        for (FieldAccessor f : shape.values) {
+            try {
+                f.set(copy, f.get(src));
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                failed(f, e);
+            }
+        }
+        for (FieldAccessor f : shape.children) {
+            try {
+                Object value = copyOf(f.get(src));
+                f.set(copy, value == REJECTED ? null : value);
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                failed(f, e);
+            }
+        }
+    }
+
+    /**
+     * 复制字段失败，跳过该字段继续复制
+     */
+    private void failed(FieldAccessor f, Exception e) {
+        if (null != metrics) {
+            metrics.errors++;
+        }
+        log.warn("copy field {} failed", f.field, e);
+    }
+
+    /**
+     * 等待加入集合的元素复制结果，按源集合的顺序加入
+     */
+    private static final class PendingAdd {
+        final Collection<Object> collection;
+        final List<Object> items;
+
+        PendingAdd(Object copy, int size) {
+            //复制结果由newCollection创建
+            @SuppressWarnings("unchecked")
+            Collection<Object> collection = (Collection<Object>) copy;
+            this.collection = collection;
+            this.items = new ArrayList<>(size);
+        }
+
+        void addTo() {
+            collection.addAll(items);
+        }
+    }
+
+    /**
+     * 单个class的复制方式，按class缓存
+     */
+    private static final class Shape {
+        /**
+         * 按引用复制
+         */
+        static final int VALUE = 0;
+        /**
+         * 自定义对象，无参构造创建后复制字段
+         */
+        static final int OBJECT = 1;
+        static final int LIST = 2;
+        static final int MAP = 3;
+        /**
+         * List和Map以外的集合，例如Set
+         */
+        static final int COLLECTION = 4;
+
+        private static final FieldAccessor[] NO_FIELDS = new FieldAccessor[0];
+
+        final Class<?> type;
+        final int kind;
+        final ClassInfo info;
+        /**
+         * 无参构造，()Object，没有可用的无参构造时为null
+         */
+        private final MethodHandle constructor;
+        /**
+         * 含父类的可写字段：基础类型、普通值、需要继续复制的字段
+         */
+        final FieldAccessor[] primitives;
+        final FieldAccessor[] values;
+        final FieldAccessor[] children;
+
+        Shape(Class<?> type) {
+            this.type = type;
+            this.kind = kindOf(type);
+            //只有自定义对象才解析字段，JDK对象不解析内部实现
+            this.info = kind == OBJECT ? ClassInfo.of(type) : null;
+            this.constructor = kind == VALUE ? null : constructor(type, kind == OBJECT);
+            if (kind != OBJECT) {
+                this.primitives = NO_FIELDS;
+                this.values = NO_FIELDS;
+                this.children = NO_FIELDS;
+                return;
+            }
+            List<FieldAccessor> primitives = new ArrayList<>();
+            List<FieldAccessor> values = new ArrayList<>();
+            List<FieldAccessor> children = new ArrayList<>();
+            for (ClassInfo current = info; null != current; current = current.superInfo) {
+                for (FieldInfo f : current.fields) {
+                    if (f.isStatic || !f.accessor.isWritable()) {
+                        //static字段不属于对象；不可写的final字段保留构造方法中的值
+                        continue;
+                    }
+                    if (f.accessor.isPrimitive()) {
+                        primitives.add(f.accessor);
+                    } else if (f.list || f.custom) {
+                        children.add(f.accessor);
+                    } else {
+                        values.add(f.accessor);
+                    }
+                }
+            }
+            this.primitives = primitives.toArray(NO_FIELDS);
+            this.values = values.toArray(NO_FIELDS);
+            this.children = children.toArray(NO_FIELDS);
+        }
+
+        private static int kindOf(Class<?> type) {
+            if (ReflectUtil.isList(type)) {
+                //按名称判断为List但不是java.util.List的对象无法按List复制
+                return List.class.isAssignableFrom(type) ? LIST : VALUE;
+            }
+            if (!ReflectUtil.isCustomClass(type) || type.isArray() || type.isEnum() || Enum.class.isAssignableFrom(type)) {
+                return VALUE;
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                return MAP;
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                return COLLECTION;
+            }
+            String name = type.getName();
+            if (name.startsWith("java.") || name.startsWith("javax.")) {
+                //BigDecimal、LocalDateTime等JDK对象不解析内部字段，按引用复制
+                return VALUE;
+            }
+            return OBJECT;
+        }
+
+        /**
+         * 自定义对象使用声明的无参构造，JDK集合只使用public的无参构造
+         */
+        private static MethodHandle constructor(Class<?> type, boolean declared) {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            try {
+                Constructor<?> constructor;
+                MethodHandles.Lookup lookup;
+                if (declared) {
+                    constructor = type.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    lookup = MethodHandles.lookup();
+                } else {
+                    if (!Modifier.isPublic(type.getModifiers())) {
+                        return null;
+                    }
+                    constructor = type.getConstructor();
+                    lookup = MethodHandles.publicLookup();
+                }
+                return lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        Object newInstance() {
+            if (null == constructor) {
+                throw new IllegalStateException("can not copy " + type.getName() + ": no default constructor");
+            }
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("can not copy " + type.getName(), e);
+            }
+        }
+
+        /**
+         * ArrayList以及没有可用无参构造的List（不可修改的List等）复制为预分配大小的ArrayList
+         */
+        List<Object> newList(int size) {
+            if (type == ArrayList.class || null == constructor) {
+                return new ArrayList<>(size);
+            }
+            @SuppressWarnings("unchecked")
+            List<Object> list = (List<Object>) newInstance();
+            return list;
+        }
+
+        /**
+         * 常用的Map按原大小预分配，有序Map保留比较器
+         */
+        Map<Object, Object> newMap(Map<?, ?> src) {
+            if (type == HashMap.class) {
+                return Maps.newHashMapWithExpectedSize(src.size());
+            }
+            if (src instanceof SortedMap) {
+                //复制结果的key与源对象相同，比较器可以直接使用
+                @SuppressWarnings("unchecked")
+                Comparator<Object> comparator = (Comparator<Object>) ((SortedMap<?, ?>) src).comparator();
+                return new TreeMap<>(comparator);
+            }
+            if (type == LinkedHashMap.class || null == constructor) {
+                return Maps.newLinkedHashMapWithExpectedSize(src.size());
+            }
+            @SuppressWarnings("unchecked")
+            Map<Object, Object> map = (Map<Object, Object>) newInstance();
+            return map;
+        }
+
+        Collection<Object> newCollection(Collection<?> src) {
+            if (type == HashSet.class) {
+                return Sets.newHashSetWithExpectedSize(src.size());
+            }
+            if (src instanceof SortedSet) {
+                //比较器比较的是复制后的元素，元素填充完成后才会加入
+                @SuppressWarnings("unchecked")
+                Comparator<Object> comparator = (Comparator<Object>) ((SortedSet<?>) src).comparator();
+                return new TreeSet<>(comparator);
+            }
+            if (type == LinkedHashSet.class || null == constructor && src instanceof Set) {
+                return Sets.newLinkedHashSetWithExpectedSize(src.size());
+            }
+            if (null == constructor) {
+                return new ArrayList<>(src.size());
+            }
+            @SuppressWarnings("unchecked")
+            Collection<Object> collection = (Collection<Object>) newInstance();
+            return collection;
+        }
+    }
+}
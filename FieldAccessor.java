@@ -0,0 +1,452 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:字段读写器，引用类型字段直接走Field.get/set，基础类型字段通过MethodHandle提供不装箱的读写
+ * MethodHandle保存在实例字段中不是常量，JIT不能内联，引用类型走MethodHandle反而比Field.get/set慢
+ * DTO有编译期生成的GeneratedAccessor时，生成类覆盖的字段直接调用生成的代码，其他字段仍然反射
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class FieldAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final int OBJECT = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int FLOAT = 4;
+    private static final int BOOLEAN = 5;
+    private static final int BYTE = 6;
+    private static final int SHORT = 7;
+    private static final int CHAR = 8;
+
+    final Field field;
+    final Class<?> type;
+    private final int kind;
+    /**
+     * (Object)type 基础类型不装箱，引用类型字段为null
+     */
+    private final MethodHandle getter;
+    /**
+     * (Object,type)void 引用类型字段或者字段不可写时为null
+     */
+    private final MethodHandle setter;
+    /**
+     * 编译期生成的读写器，没有时为null
+     */
+    private final GeneratedAccessor generated;
+    /**
+     * 字段在generated中的序号
+     */
+    private final int index;
+    private final boolean writable;
+
+    /**
+     * @param field 已经setAccessible的字段
+     */
+    FieldAccessor(Field field) {
+        this.field = field;
+        this.type = field.getType();
+        this.kind = kindOf(type);
+        this.generated = null;
+        this.index = -1;
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        MethodHandle get;
+        try {
+            get = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("can not access field " + field, e);
+        }
+        if (isStatic) {
+            get = MethodHandles.dropArguments(get, 0, Object.class);
+        }
+        MethodHandle set;
+        try {
+            set = LOOKUP.unreflectSetter(field);
+            if (isStatic) {
+                set = MethodHandles.dropArguments(set, 0, Object.class);
+            }
+        } catch (IllegalAccessException e) {
+            //static final等字段不可写，写的时候再报错，与Field.set保持一致
+            set = null;
+        }
+        boolean primitive = kind != OBJECT;
+        this.getter = primitive ? get.asType(MethodType.methodType(type, Object.class)) : null;
+        this.setter = primitive && null != set ? set.asType(MethodType.methodType(void.class, Object.class, type)) : null;
+        this.writable = null != set;
+    }
+
+    /**
+     * 使用编译期生成的读写器，字段不需要setAccessible
+     * 生成的读写器不包含final字段，字段总是可写
+     *
+     * @param field     字段
+     * @param generated 生成的读写器
+     * @param index     字段在generated中的序号
+     */
+    FieldAccessor(Field field, GeneratedAccessor generated, int index) {
+        this.field = field;
+        this.type = field.getType();
+        this.kind = kindOf(type);
+        this.generated = generated;
+        this.index = index;
+        this.getter = null;
+        this.setter = null;
+        this.writable = true;
+    }
+
+    private static int kindOf(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return OBJECT;
+        } else if (type == int.class) {
+            return INT;
+        } else if (type == long.class) {
+            return LONG;
+        } else if (type == double.class) {
+            return DOUBLE;
+        } else if (type == float.class) {
+            return FLOAT;
+        } else if (type == boolean.class) {
+            return BOOLEAN;
+        } else if (type == byte.class) {
+            return BYTE;
+        } else if (type == short.class) {
+            return SHORT;
+        }
+        return CHAR;
+    }
+
+    /**
+     * 是否基础类型字段
+     *
+     * @return
+     */
+    boolean isPrimitive() {
+        return kind != OBJECT;
+    }
+
+    /**
+     * 是否使用编译期生成的读写器
+     *
+     * @return
+     */
+    boolean isGenerated() {
+        return null != generated;
+    }
+
+    /**
+     * 字段是否可写，static final等字段不可写
+     *
+     * @return
+     */
+    boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * 读取字段值，基础类型会装箱
+     *
+     * @param object
+     * @return
+     */
+    Object get(Object object) {
+        if (null == generated) {
+            try {
+                return field.get(object);
+            } catch (IllegalAccessException e) {
+                //构造时已经setAccessible
+                throw new IllegalStateException(e);
+            }
+        }
+        try {
+            return generated.get(index, object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * 写入字段值
+     *
+     * @param object
+     * @param value
+     * @throws IllegalAccessException 字段不可写
+     */
+    void set(Object object, Object value) throws IllegalAccessException {
+        checkWritable();
+        if (null == generated) {
+            field.set(object, value);
+            return;
+        }
+        try {
+            generated.set(index, object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    int getInt(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getInt(index, object);
+            }
+            return (int) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setInt(Object object, int value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setInt(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    long getLong(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getLong(index, object);
+            }
+            return (long) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setLong(Object object, long value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setLong(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    double getDouble(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getDouble(index, object);
+            }
+            return (double) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setDouble(Object object, double value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setDouble(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    float getFloat(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getFloat(index, object);
+            }
+            return (float) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setFloat(Object object, float value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setFloat(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    boolean getBoolean(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getBoolean(index, object);
+            }
+            return (boolean) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setBoolean(Object object, boolean value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setBoolean(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    byte getByte(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getByte(index, object);
+            }
+            return (byte) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setByte(Object object, byte value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setByte(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    short getShort(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getShort(index, object);
+            }
+            return (short) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setShort(Object object, short value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setShort(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    char getChar(Object object) {
+        try {
+            if (null != generated) {
+                return generated.getChar(index, object);
+            }
+            return (char) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setChar(Object object, char value) throws IllegalAccessException {
+        checkWritable();
+        try {
+            if (null != generated) {
+                generated.setChar(index, object, value);
+                return;
+            }
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * 把src上from字段的值复制到target的当前字段，调用方保证两个字段类型一致
+     * 基础类型走不装箱的读写
+     *
+     * @param src
+     * @param from   源字段
+     * @param target
+     * @throws IllegalAccessException 字段不可写
+     */
+    void copy(Object src, FieldAccessor from, Object target) throws IllegalAccessException {
+        switch (kind) {
+            case INT:
+                setInt(target, from.getInt(src));
+                break;
+            case LONG:
+                setLong(target, from.getLong(src));
+                break;
+            case DOUBLE:
+                setDouble(target, from.getDouble(src));
+                break;
+            case FLOAT:
+                setFloat(target, from.getFloat(src));
+                break;
+            case BOOLEAN:
+                setBoolean(target, from.getBoolean(src));
+                break;
+            case BYTE:
+                setByte(target, from.getByte(src));
+                break;
+            case SHORT:
+                setShort(target, from.getShort(src));
+                break;
+            case CHAR:
+                setChar(target, from.getChar(src));
+                break;
+            default:
+                set(target, from.get(src));
+                break;
+        }
+    }
+
+    private void checkWritable() throws IllegalAccessException {
+        if (!writable) {
+            throw new IllegalAccessException("can not set final field " + field);
+        }
+    }
+
+    /**
+     * 与Field.get/set的异常保持一致：对象类型不匹配抛IllegalArgumentException
+     */
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof ClassCastException) {
+            return new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,319 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:编译好的字段路径，例如OrderDto上的 items[*].skuCode，按根class解析一次，之后只访问路径上的对象
+ * 与 类名_字段名 不同，路径按字段实际所在的class解析，不会因为不同包下的同名class混在一起，也不需要遍历整个对象
+ * <p>
+ * 语法：字段名用.连接，List字段后面加[*]表示其中的每个元素，List的元素类型从字段的泛型中解析；根对象是List时路径以[*]开头，传入元素class
+ * 路径最后必须是字段；字段可以在父类中声明；static字段不参与
+ * 路径长度有限，不记录访问过的对象，被多处引用的对象按引用次数访问；不处理Map节点，不并行
+ * 路径不可变，可以在多个线程之间共享
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class FieldPath {
+
+    private static final String EACH = "[*]";
+
+    private final Class<?> rootClass;
+    private final String expression;
+    /**
+     * 依次处理的步骤，最后一步是字段
+     */
+    private final Step[] steps;
+
+    private FieldPath(Class<?> rootClass, String expression, Step[] steps) {
+        this.rootClass = rootClass;
+        this.expression = expression;
+        this.steps = steps;
+    }
+
+    /**
+     * 编译路径
+     *
+     * @param rootClass  根对象class，根对象是List时为元素class
+     * @param expression 路径，例如 items[*].skuCode
+     * @return
+     * @throws IllegalArgumentException 字段不存在、List字段没有泛型或者路径格式不对
+     */
+    public static FieldPath compile(Class<?> rootClass, String expression) {
+        if (null == rootClass || null == expression || expression.isEmpty()) {
+            throw new IllegalArgumentException("rootClass and expression are required");
+        }
+        List<Step> steps = new ArrayList<>();
+        Type current = rootClass;
+        String rest = expression;
+        if (rest.startsWith(EACH)) {
+            //根对象是List，rootClass即元素class
+            steps.add(new Step(null, null));
+            rest = rest.substring(EACH.length());
+            if (rest.startsWith(".")) {
+                rest = rest.substring(1);
+            }
+        }
+        for (String segment : rest.split("\\.", -1)) {
+            String name = segment;
+            int each = 0;
+            while (name.endsWith(EACH)) {
+                name = name.substring(0, name.length() - EACH.length());
+                each++;
+            }
+            if (name.isEmpty() || name.contains("[") || name.contains("]")) {
+                throw new IllegalArgumentException("bad path " + expression + " at '" + segment + "'");
+            }
+            Class<?> owner = rawType(current, expression);
+            FieldInfo field = field(ClassInfo.of(owner), name);
+            if (null == field) {
+                throw new IllegalArgumentException("no field " + name + " in " + owner.getName() + ": " + expression);
+            }
+            steps.add(new Step(owner, field));
+            current = field.field.getGenericType();
+            for (int i = 0; i < each; i++) {
+                current = elementType(current, expression);
+                steps.add(new Step(null, null));
+            }
+        }
+        if (null == steps.get(steps.size() - 1).field) {
+            throw new IllegalArgumentException("path must end with a field: " + expression);
+        }
+        return new FieldPath(rootClass, expression, steps.toArray(new Step[0]));
+    }
+
+    public Class<?> rootClass() {
+        return rootClass;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return rootClass.getSimpleName() + ":" + expression;
+    }
+
+    /**
+     * 路径最后的字段
+     */
+    FieldInfo leaf() {
+        return steps[steps.length - 1].field;
+    }
+
+    /**
+     * 最后一个字段所在对象的路径，根对象本身时为空字符串
+     */
+    String ownerExpression() {
+        int dot = expression.lastIndexOf('.');
+        return dot < 0 ? "" : expression.substring(0, dot);
+    }
+
+    /**
+     * 依次访问路径最后的字段，值为null时也会通知
+     *
+     * @param root    根对象
+     * @param visitor 访问者
+     * @param metrics 调用统计，为null时不统计
+     */
+    void walk(Object root, Visitor visitor, CallMetrics metrics) {
+        if (null != root) {
+            walk(root, 0, visitor, metrics);
+        }
+    }
+
+    private void walk(Object node, int index, Visitor visitor, CallMetrics metrics) {
+        Step step = steps[index];
+        if (null == step.field) {
+            for (Object item : (List<?>) node) {
+                if (null != metrics) {
+                    metrics.elementsScanned++;
+                }
+                if (null != item) {
+                    walk(item, index + 1, visitor, metrics);
+                }
+            }
+            return;
+        }
+        if (!step.owner.isInstance(node)) {
+            //List中混有其他class的对象
+            return;
+        }
+        Object value = step.field.accessor.get(node);
+        if (null != metrics) {
+            metrics.objectsVisited++;
+            metrics.fieldsRead++;
+        }
+        if (index == steps.length - 1) {
+            if (null != metrics && null != value) {
+                metrics.matches++;
+            }
+            visitor.visit(node, value);
+        } else if (null != value) {
+            walk(value, index + 1, visitor, metrics);
+        }
+    }
+
+    /**
+     * 去掉最后的字段值不在允许值里面的对象，与removeObject一致：List中删除，字段置为null，null值不允许
+     *
+     * @param root    根对象
+     * @param allowed 允许值
+     * @param metrics 调用统计，为null时不统计
+     * @return 根对象本身是否需要删除
+     */
+    boolean filter(Object root, RemoveFilter.AllowSet allowed, CallMetrics metrics) {
+        return null != root && filter(root, 0, allowed, metrics);
+    }
+
+    private boolean filter(Object node, int index, RemoveFilter.AllowSet allowed, CallMetrics metrics) {
+        Step step = steps[index];
+        if (null == step.field) {
+            @SuppressWarnings("unchecked")
+            List<Object> list = (List<Object>) node;
+            filterList(list, index + 1, allowed, metrics);
+            return false;
+        }
+        if (!step.owner.isInstance(node)) {
+            return false;
+        }
+        if (null != metrics) {
+            metrics.objectsVisited++;
+            metrics.fieldsRead++;
+        }
+        FieldAccessor accessor = step.field.accessor;
+        if (index == steps.length - 1) {
+            if (allowed.rejects(accessor, node)) {
+                if (null != metrics) {
+                    metrics.removals++;
+                }
+                return true;
+            }
+            return false;
+        }
+        Object value = accessor.get(node);
+        if (null != value && filter(value, index + 1, allowed, metrics)) {
+            try {
+                accessor.set(node, null);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("can not remove " + step.field.uniqueName, e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与遍历删除一致：没有要删除的元素时不修改list，RandomAccess的list保留的元素前移后一次删掉尾部
+     * 第一个要删除的元素直接remove，不能删除的list（例如Arrays.asList）在修改之前就抛出UnsupportedOperationException
+     */
+    private void filterList(List<Object> list, int index, RemoveFilter.AllowSet allowed, CallMetrics metrics) {
+        if (!(list instanceof RandomAccess)) {
+            Iterator<Object> iterator = list.iterator();
+            while (iterator.hasNext()) {
+                Object item = iterator.next();
+                if (null != metrics) {
+                    metrics.elementsScanned++;
+                }
+                if (null != item && filter(item, index, allowed, metrics)) {
+                    iterator.remove();
+                }
+            }
+            return;
+        }
+        int size = list.size();
+        //第一个被删除的位置，之后保留的元素依次前移到这里
+        int kept = -1;
+        for (int i = 0; i < size; i++) {
+            Object item = list.get(i);
+            if (null != metrics) {
+                metrics.elementsScanned++;
+            }
+            if (null != item && filter(item, index, allowed, metrics)) {
+                if (kept < 0) {
+                    list.remove(i);
+                    //后面的元素前移了一位
+                    kept = i--;
+                    size--;
+                }
+            } else if (kept >= 0) {
+                list.set(kept++, item);
+            }
+        }
+        if (kept >= 0) {
+            list.subList(kept, size).clear();
+        }
+    }
+
+    private static FieldInfo field(ClassInfo info, String name) {
+        for (ClassInfo current = info; null != current; current = current.superInfo) {
+            for (FieldInfo f : current.fields) {
+                if (!f.isStatic && f.name.equals(name)) {
+                    return f;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> rawType(Type type, String expression) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        throw new IllegalArgumentException("can not resolve type " + type + ": " + expression);
+    }
+
+    /**
+     * List<X>的X，? extends X取X
+     */
+    private static Type elementType(Type type, String expression) {
+        if (type instanceof ParameterizedType && List.class.isAssignableFrom(rawType(type, expression))) {
+            Type arg = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (arg instanceof WildcardType) {
+                arg = ((WildcardType) arg).getUpperBounds()[0];
+            }
+            return arg;
+        }
+        throw new IllegalArgumentException("[*] needs a List<...> field, found " + type + ": " + expression);
+    }
+
+    /**
+     * 路径最后字段的访问者
+     */
+    interface Visitor {
+        /**
+         * @param owner 字段所在的对象
+         * @param value 字段值，可能为null
+         */
+        void visit(Object owner, Object value);
+    }
+
+    /**
+     * 读取字段，或者field为null时遍历List中的元素
+     */
+    private static final class Step {
+        /**
+         * 字段声明所在的class（或者其子类），List中的元素不是该class时跳过
+         */
+        final Class<?> owner;
+        final FieldInfo field;
+
+        Step(Class<?> owner, FieldInfo field) {
+            this.owner = owner;
+            this.field = field;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:遍历时处理普通字段的访问者，挂在{@link Traversal}上，多个访问者共用同一次遍历
+ * date: 2026/10/18
+ * version: 1.0
+ */
+interface FieldVisitor {
+
+    /**
+     * 普通字段是否需要，不需要的字段不会读取
+     * Map节点的key与对象字段一样按 类名_key 判断，type为值的class
+     *
+     * @param uniqueName 类名_字段名
+     * @param type       字段类型
+     * @return 需要时返回传给visit的标记（例如结果集合），不需要时返回null
+     */
+    Object accept(String uniqueName, Class<?> type);
+
+    /**
+     * 处理字段值
+     *
+     * @param mark  accept返回的标记
+     * @param owner 字段所在的对象
+     * @param value 字段值，不为null
+     */
+    void visit(Object mark, Object owner, Object value);
+
+    /**
+     * 基础类型字段不装箱处理，默认不处理，交给visit
+     *
+     * @param mark  accept返回的标记
+     * @param owner 字段所在的对象
+     * @param f     基础类型字段
+     * @return 已经处理返回true
+     */
+    default boolean visitPrimitive(Object mark, Object owner, FieldInfo f) {
+        return false;
+    }
+
+    /**
+     * 并行遍历时每个任务使用的空访问者
+     *
+     * @return
+     */
+    FieldVisitor fork();
+
+    /**
+     * 把fork出来的访问者的结果追加到当前访问者，按遍历顺序调用
+     *
+     * @param other fork出来的访问者
+     */
+    void merge(FieldVisitor other);
+}
@@ -0,0 +1,24 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:标记DTO在编译期生成字段读写器，编译时需要把processor目录下的GenerateAccessorsProcessor放到annotation processor path
+ * 生成的类名为 DTO的binary name + $$Accessor，与DTO在同一个包下，ReflectUtil遍历和复制时自动使用，没有生成的类继续走反射
+ * 只对当前类声明的字段生成，父类需要单独标记；生成的代码直接访问字段，private、final和static字段不生成，这些字段仍然走反射
+ * 不会通过getter/setter访问private字段，lombok等字段全部为private的DTO标记后不会生成任何代码，编译时给出警告
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateAccessors {
+}
@@ -0,0 +1,124 @@
+package com.coocaa.lite.os.common.utils;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:编译期生成的字段读写器，由GenerateAccessorsProcessor实现，业务代码不需要直接使用
+ * 字段按fieldNames的下标访问，基础类型字段通过对应类型的方法读写，不装箱
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public interface GeneratedAccessor {
+
+    /**
+     * 生成类的类名后缀，生成类为 DTO的binary name + SUFFIX
+     */
+    String SUFFIX = "$$Accessor";
+
+    /**
+     * 读写的DTO类型
+     *
+     * @return
+     */
+    Class<?> type();
+
+    /**
+     * 生成了读写方法的字段名，下标即字段序号
+     *
+     * @return
+     */
+    String[] fieldNames();
+
+    /**
+     * 读取字段值，基础类型会装箱
+     *
+     * @param index  字段序号
+     * @param object DTO对象
+     * @return
+     */
+    Object get(int index, Object object);
+
+    /**
+     * 写入字段值，基础类型字段的值不能为null
+     *
+     * @param index  字段序号
+     * @param object DTO对象
+     * @param value
+     */
+    void set(int index, Object object, Object value);
+
+    default int getInt(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setInt(int index, Object object, int value) {
+        throw noField(index);
+    }
+
+    default long getLong(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setLong(int index, Object object, long value) {
+        throw noField(index);
+    }
+
+    default double getDouble(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setDouble(int index, Object object, double value) {
+        throw noField(index);
+    }
+
+    default float getFloat(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setFloat(int index, Object object, float value) {
+        throw noField(index);
+    }
+
+    default boolean getBoolean(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setBoolean(int index, Object object, boolean value) {
+        throw noField(index);
+    }
+
+    default byte getByte(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setByte(int index, Object object, byte value) {
+        throw noField(index);
+    }
+
+    default short getShort(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setShort(int index, Object object, short value) {
+        throw noField(index);
+    }
+
+    default char getChar(int index, Object object) {
+        throw noField(index);
+    }
+
+    default void setChar(int index, Object object, char value) {
+        throw noField(index);
+    }
+
+    /**
+     * 字段序号不存在或者字段类型与方法不一致
+     *
+     * @param index 字段序号
+     * @return
+     */
+    default IllegalArgumentException noField(int index) {
+        return new IllegalArgumentException("no such field in " + type().getName() + ": " + index);
+    }
+}
@@ -0,0 +1,49 @@
+package com.coocaa.lite.os.common.utils;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:比对关联用的key，由比对字段的序号和字段原始值组成
+ * 原始值用equals比较，Long 1和Integer 1不会被当成同一个值
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class JoinKey {
+
+    /**
+     * 比对字段序号，源字段和对应的目标字段序号相同
+     */
+    final int slot;
+    /**
+     * 字段原始值
+     */
+    final Object value;
+
+    JoinKey(int slot, Object value) {
+        this.slot = slot;
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JoinKey)) {
+            return false;
+        }
+        JoinKey other = (JoinKey) o;
+        return slot == other.slot && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * slot + value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return slot + "_" + value;
+    }
+}
@@ -0,0 +1,48 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:建立比对索引，(比对字段序号, 比对值) -> 持有该字段的对象，放入顺序与遍历顺序一致
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class JoinVisitor implements FieldVisitor {
+
+    /**
+     * 类名_字段名 -> 比对字段序号
+     */
+    private final Map<String, Integer> compareKeys;
+    private final Multimap<JoinKey, Object> compareValueMap;
+
+    JoinVisitor(Map<String, Integer> compareKeys, Multimap<JoinKey, Object> compareValueMap) {
+        this.compareKeys = compareKeys;
+        this.compareValueMap = compareValueMap;
+    }
+
+    @Override
+    public Object accept(String uniqueName, Class<?> type) {
+        return compareKeys.get(uniqueName);
+    }
+
+    @Override
+    public void visit(Object mark, Object owner, Object value) {
+        compareValueMap.put(new JoinKey((Integer) mark, value), owner);
+    }
+
+    @Override
+    public FieldVisitor fork() {
+        return new JoinVisitor(compareKeys, ArrayListMultimap.<JoinKey, Object>create());
+    }
+
+    @Override
+    public void merge(FieldVisitor other) {
+        compareValueMap.putAll(((JoinVisitor) other).compareValueMap);
+    }
+}
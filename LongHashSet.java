@@ -0,0 +1,234 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.Arrays;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:long的hash集合，开放寻址，不装箱
+ * 用于取数字类型字段的值（{@link ReflectUtil#getLongSet}），也可以作为过滤的允许值（{@link RemoveFilter#allow}）
+ * 不是线程安全的
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    /**
+     * 最大容量，装载因子0.5，最多放MAX_SIZE个值
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * 最多能放的值的个数
+     */
+    public static final int MAX_SIZE = (MAX_CAPACITY >> 1) - 1;
+
+    /**
+     * 0作为空槽位，0本身单独记录
+     */
+    private long[] table;
+    private boolean containsZero;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize 预计的元素个数，达到之前不需要扩容
+     * @throws IllegalArgumentException expectedSize超过{@link #MAX_SIZE}
+     */
+    public LongHashSet(int expectedSize) {
+        if (expectedSize > MAX_SIZE) {
+            throw new IllegalArgumentException("expectedSize exceeds LongHashSet.MAX_SIZE " + MAX_SIZE + ": " + expectedSize);
+        }
+        int capacity = tableSizeFor(Math.max(4, (int) (expectedSize / 0.5f) + 1));
+        allocate(capacity);
+    }
+
+    /**
+     * @param values
+     * @return 包含values的集合
+     */
+    public static LongHashSet of(long... values) {
+        LongHashSet set = new LongHashSet(values.length);
+        for (long value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(n - 1) << 1;
+        return capacity <= 0 || capacity > MAX_CAPACITY ? MAX_CAPACITY : capacity;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >> 1;
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @param value
+     * @return 是否新加入
+     * @throws IllegalStateException 已经有{@link #MAX_SIZE}个值，不能再扩容
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = hash(value) & mask;
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size + 1 >= resizeAt && table.length == MAX_CAPACITY) {
+            throw new IllegalStateException("LongHashSet is full, max size " + MAX_SIZE);
+        }
+        table[i] = value;
+        if (++size >= resizeAt) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int i = hash(value) & mask;
+        long current;
+        while ((current = table[i]) != EMPTY) {
+            if (current == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 加入other中所有的值
+     *
+     * @param other
+     */
+    public void addAll(LongHashSet other) {
+        if (other.containsZero) {
+            add(EMPTY);
+        }
+        for (long value : other.table) {
+            if (value != EMPTY) {
+                add(value);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return 所有的值，顺序不固定
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int n = 0;
+        if (containsZero) {
+            values[n++] = 0L;
+        }
+        for (long value : table) {
+            if (value != EMPTY) {
+                values[n++] = value;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return 复制一份
+     */
+    public LongHashSet copy() {
+        LongHashSet copy = new LongHashSet(size);
+        copy.addAll(this);
+        return copy;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        allocate(old.length << 1);
+        for (long value : old) {
+            if (value == EMPTY) {
+                continue;
+            }
+            int i = hash(value) & mask;
+            while (table[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+        }
+    }
+
+    /**
+     * 值相同（不考虑顺序和容量）时相等
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongHashSet)) {
+            return false;
+        }
+        LongHashSet other = (LongHashSet) o;
+        if (size != other.size || containsZero != other.containsZero) {
+            return false;
+        }
+        for (long value : table) {
+            if (value != EMPTY && !other.contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 与包含相同值的Set&lt;Long&gt;的hashCode一致
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (long value : table) {
+            if (value != EMPTY) {
+                h += Long.hashCode(value);
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
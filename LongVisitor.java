@@ -0,0 +1,78 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:收集整数字段的值，long/int/short/byte字段不装箱读取，包装类型字段按数值收集
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class LongVisitor implements FieldVisitor {
+
+    /**
+     * 类名_字段名
+     */
+    private final String uniqueName;
+    private final LongHashSet valueSet;
+
+    LongVisitor(String uniqueName, LongHashSet valueSet) {
+        this.uniqueName = uniqueName;
+        this.valueSet = valueSet;
+    }
+
+    @Override
+    public Object accept(String uniqueName, Class<?> type) {
+        if (!this.uniqueName.equals(uniqueName) || !isIntegral(type)) {
+            return null;
+        }
+        return valueSet;
+    }
+
+    @Override
+    public void visit(Object mark, Object owner, Object value) {
+        valueSet.add(((Number) value).longValue());
+    }
+
+    @Override
+    public boolean visitPrimitive(Object mark, Object owner, FieldInfo f) {
+        valueSet.add(getLong(f.accessor, owner));
+        return true;
+    }
+
+    @Override
+    public FieldVisitor fork() {
+        return new LongVisitor(uniqueName, new LongHashSet());
+    }
+
+    @Override
+    public void merge(FieldVisitor other) {
+        valueSet.addAll(((LongVisitor) other).valueSet);
+    }
+
+    /**
+     * 是否是long/int/short/byte及其包装类型
+     */
+    static boolean isIntegral(Class<?> type) {
+        return type == long.class || type == int.class || type == short.class || type == byte.class
+                || type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+    }
+
+    /**
+     * 不装箱读取long/int/short/byte字段
+     */
+    static long getLong(FieldAccessor f, Object object) {
+        if (f.type == long.class) {
+            return f.getLong(object);
+        }
+        if (f.type == int.class) {
+            return f.getInt(object);
+        }
+        if (f.type == short.class) {
+            return f.getShort(object);
+        }
+        return f.getByte(object);
+    }
+}
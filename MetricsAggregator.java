@@ -0,0 +1,160 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:按 入口方法 + 传入对象class 汇总调用统计，线程安全，可以定时取出快照输出到监控
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class MetricsAggregator implements MetricsListener {
+
+    private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+        @Override
+        public long applyAsLong(long left, long right) {
+            return Math.max(left, right);
+        }
+    };
+
+    /**
+     * 入口方法 rootClass -> 汇总
+     */
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCall(CallMetrics metrics) {
+        stats(metrics).add(metrics);
+    }
+
+    @Override
+    public void onSlowCall(CallMetrics metrics) {
+        stats(metrics).slowCalls.increment();
+    }
+
+    /**
+     * 当前的汇总，key为 入口方法 rootClass，按key排序
+     *
+     * @return
+     */
+    public Map<String, Stats> snapshot() {
+        return new TreeMap<>(stats);
+    }
+
+    /**
+     * 清空汇总
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private Stats stats(CallMetrics metrics) {
+        String key = metrics.entryPoint() + " " + (null == metrics.rootClass() ? null : metrics.rootClass().getName());
+        Stats exist = stats.get(key);
+        if (null != exist) {
+            return exist;
+        }
+        Stats created = new Stats();
+        exist = stats.putIfAbsent(key, created);
+        return null == exist ? created : exist;
+    }
+
+    /**
+     * 一个入口方法 + rootClass的汇总
+     */
+    public static final class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder objectsVisited = new LongAdder();
+        private final LongAdder fieldsRead = new LongAdder();
+        private final LongAdder elementsScanned = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder removals = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(MAX, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        void add(CallMetrics metrics) {
+            calls.increment();
+            objectsVisited.add(metrics.objectsVisited());
+            fieldsRead.add(metrics.fieldsRead());
+            elementsScanned.add(metrics.elementsScanned());
+            matches.add(metrics.matches());
+            removals.add(metrics.removals());
+            errors.add(metrics.errors());
+            nanos.add(metrics.nanos());
+            maxNanos.accumulate(metrics.nanos());
+            if (metrics.allocatedBytes() > 0) {
+                allocatedBytes.add(metrics.allocatedBytes());
+            }
+        }
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public long slowCalls() {
+            return slowCalls.sum();
+        }
+
+        public long objectsVisited() {
+            return objectsVisited.sum();
+        }
+
+        public long fieldsRead() {
+            return fieldsRead.sum();
+        }
+
+        public long elementsScanned() {
+            return elementsScanned.sum();
+        }
+
+        public long matches() {
+            return matches.sum();
+        }
+
+        public long removals() {
+            return removals.sum();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        /**
+         * 总耗时，纳秒
+         */
+        public long nanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * 单次最大耗时，纳秒
+         */
+        public long maxNanos() {
+            return maxNanos.get();
+        }
+
+        public long allocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        @Override
+        public String toString() {
+            long calls = calls();
+            return "calls=" + calls + " slow=" + slowCalls() + " avg=" + (0 == calls ? 0 : nanos() / calls / 1000) + "us"
+                    + " max=" + maxNanos() / 1000 + "us objects=" + objectsVisited() + " fields=" + fieldsRead()
+                    + " elements=" + elementsScanned() + " matches=" + matches() + " removals=" + removals()
+                    + " errors=" + errors() + " bytes=" + allocatedBytes();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.coocaa.lite.os.common.utils;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:调用统计的监听器，在调用线程中同步通知，实现需要线程安全并且尽量轻量
+ * 监听器抛出的异常只记录日志，不影响调用结果
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public interface MetricsListener {
+
+    /**
+     * 每次调用结束后通知
+     *
+     * @param metrics 本次调用的统计，通知后不再修改
+     */
+    void onCall(CallMetrics metrics);
+
+    /**
+     * 耗时达到{@link TraversalMetrics#slowThreshold(long)}的调用，在onCall之后通知
+     *
+     * @param metrics 本次调用的统计
+     */
+    void onSlowCall(CallMetrics metrics);
+}
@@ -0,0 +1,313 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.Primitives;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:源class到目标class的字段复制器，按(源class,目标class,valueMap)编译一次后缓存
+ * 同一对class下缓存的valueMap个数有上限，按数据动态拼出的valueMap不会让缓存一直增长
+ * 源对象或者目标对象是Map节点时按key复制，不编译
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@Slf4j
+final class ObjectCopier {
+
+    /**
+     * 每对class缓存的valueMap个数上限，超过时淘汰最久没有使用的
+     */
+    private static final int MAX_CACHED = 64;
+
+    /**
+     * 源class -> 目标class -> valueMap -> 复制器，valueMap一层有上限
+     */
+    private static final ClassValue<ConcurrentHashMap<Class<?>, Cache<Map<String, String>, ObjectCopier>>> CACHE =
+            new ClassValue<ConcurrentHashMap<Class<?>, Cache<Map<String, String>, ObjectCopier>>>() {
+                @Override
+                protected ConcurrentHashMap<Class<?>, Cache<Map<String, String>, ObjectCopier>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * 源字段，与to一一对应
+     */
+    private final FieldAccessor[] from;
+    /**
+     * 目标字段
+     */
+    private final FieldAccessor[] to;
+
+    private ObjectCopier(FieldAccessor[] from, FieldAccessor[] to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 获取复制器，不存在时编译
+     *
+     * @param srcCls    源class
+     * @param targetCls 目标class
+     * @param valueMap  遵循 src:target规则，可以为null
+     * @return
+     */
+    static ObjectCopier of(Class<?> srcCls, Class<?> targetCls, Map<String, String> valueMap) {
+        Map<String, String> key = null == valueMap ? Collections.<String, String>emptyMap() : valueMap;
+        Cache<Map<String, String>, ObjectCopier> byValueMap = CACHE.get(srcCls).get(targetCls);
+        if (null == byValueMap) {
+            byValueMap = CacheBuilder.newBuilder().maximumSize(MAX_CACHED).build();
+            Cache<Map<String, String>, ObjectCopier> exist = CACHE.get(srcCls).putIfAbsent(targetCls, byValueMap);
+            if (null != exist) {
+                byValueMap = exist;
+            }
+        }
+        ObjectCopier copier = byValueMap.getIfPresent(key);
+        if (null == copier) {
+            copier = compile(ClassInfo.of(srcCls), ClassInfo.of(targetCls), key);
+            //缓存的key用不可变副本，调用方后续修改valueMap不影响已编译的复制器
+            byValueMap.asMap().putIfAbsent(Collections.unmodifiableMap(new HashMap<>(key)), copier);
+        }
+        return copier;
+    }
+
+    /**
+     * 按字段路径编译的复制器，由CopyPlan按class对持有，不进入缓存
+     * 同名字段按默认规则对应；值路径解析出的字段对直接按字段匹配，不拼接类名，同名class不会混在一起，字段在父类中声明时子类对象同样适用
+     * 值路径的源字段不再复制到同名的目标字段，值路径的目标字段只从值路径的源字段复制
+     *
+     * @param srcCls       源class
+     * @param targetCls    目标class
+     * @param srcFields    值路径最后的源字段，与targetFields一一对应
+     * @param targetFields 值路径最后的目标字段
+     * @return
+     */
+    static ObjectCopier compile(Class<?> srcCls, Class<?> targetCls, FieldInfo[] srcFields, FieldInfo[] targetFields) {
+        List<FieldInfo> valueFrom = new ArrayList<>();
+        List<FieldInfo> valueTo = new ArrayList<>();
+        for (int i = 0; i < srcFields.length; i++) {
+            if (srcFields[i].field.getDeclaringClass().isAssignableFrom(srcCls) && targetFields[i].field.getDeclaringClass().isAssignableFrom(targetCls)) {
+                valueFrom.add(srcFields[i]);
+                valueTo.add(targetFields[i]);
+            }
+        }
+        List<FieldAccessor> from = new ArrayList<>();
+        List<FieldAccessor> to = new ArrayList<>();
+        pair(ClassInfo.of(srcCls), ClassInfo.of(targetCls), Collections.<String, String>emptyMap(), from, to);
+        for (int i = from.size() - 1; i >= 0; i--) {
+            if (contains(valueFrom, from.get(i)) || contains(valueTo, to.get(i))) {
+                from.remove(i);
+                to.remove(i);
+            }
+        }
+        for (int i = 0; i < valueFrom.size(); i++) {
+            FieldInfo srcField = valueFrom.get(i);
+            if (srcField.isFinal || srcField.custom || !srcField.type.equals(valueTo.get(i).type)) {
+                continue;
+            }
+            from.add(srcField.accessor);
+            to.add(valueTo.get(i).accessor);
+        }
+        return new ObjectCopier(from.toArray(new FieldAccessor[0]), to.toArray(new FieldAccessor[0]));
+    }
+
+    private static boolean contains(List<FieldInfo> fields, FieldAccessor accessor) {
+        for (FieldInfo f : fields) {
+            if (f.accessor == accessor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 规则与原来逐个对象比对时一致：
+     * 源字段为final、自定义对象的不复制，类型不一致的不复制，valueMap可以指定字段名称的对应关系
+     */
+    private static ObjectCopier compile(ClassInfo srcInfo, ClassInfo targetInfo, Map<String, String> valueMap) {
+        List<FieldAccessor> from = new ArrayList<>();
+        List<FieldAccessor> to = new ArrayList<>();
+        pair(srcInfo, targetInfo, valueMap, from, to);
+        return new ObjectCopier(from.toArray(new FieldAccessor[0]), to.toArray(new FieldAccessor[0]));
+    }
+
+    /**
+     * 按类名_字段名对应源字段和目标字段，结果按目标字段的顺序放入from和to
+     */
+    private static void pair(ClassInfo srcInfo, ClassInfo targetInfo, Map<String, String> valueMap, List<FieldAccessor> from, List<FieldAccessor> to) {
+        Map<String, FieldInfo> srcFieldMap = new HashMap<>();
+        for (FieldInfo f : srcInfo.fields) {
+            if (f.isFinal || f.custom) {
+                continue;
+            }
+            srcFieldMap.put(f.uniqueName, f);
+        }
+
+        for (FieldInfo f : targetInfo.fields) {
+            String srcKey = srcKey(srcInfo.simpleName, f.name, f.uniqueName, valueMap);
+            if (null == srcKey) {
+                continue;
+            }
+            FieldInfo srcField = srcFieldMap.get(srcKey);
+            if (null == srcField || !srcField.type.equals(f.type)) {
+                continue;
+            }
+            from.add(srcField.accessor);
+            to.add(f.accessor);
+        }
+    }
+
+    /**
+     * 把目标key转换成源key
+     *
+     * @param srcName   源类名
+     * @param fieldName 目标字段名
+     * @param targetKey 目标类名_字段名
+     * @param valueMap  遵循 src:target规则
+     * @return 目标字段不应该被赋值时返回null
+     */
+    private static String srcKey(String srcName, String fieldName, String targetKey, Map<String, String> valueMap) {
+        String srcKey = ReflectUtil.keyAddValue(srcName, fieldName);
+        if (valueMap.containsKey(srcKey)) {
+            //如果目标字段与源对象的字段名字相同，但是源对象的字段又被指向了目标对象的另一个字段，那么这个目标与源对象相同的字段不应该被赋值
+            String value = valueMap.get(srcKey);
+            if (!targetKey.equalsIgnoreCase(value)) {
+                return null;
+            }
+        }
+        if (valueMap.containsValue(targetKey)) {
+            srcKey = ReflectUtil.changeSrcKey(valueMap, targetKey);
+        }
+        return srcKey;
+    }
+
+    /**
+     * 源对象或者目标对象是Map节点时按key复制，字段对应规则与对象之间一致
+     * 只复制普通值，List、Map和自定义对象不复制；复制到对象字段时值的class要与字段类型一致，基础类型字段对应包装类型
+     *
+     * @param src        源对象
+     * @param srcName    源Map节点的类名，源对象不是Map节点时为null
+     * @param target     目标对象
+     * @param targetName 目标Map节点的类名，目标对象不是Map节点时为null
+     * @param valueMap   遵循 src:target规则，可以为null
+     * @param classKey   Map节点类名所在的key，不复制，可以为null
+     */
+    static void copyMap(Object src, String srcName, Object target, String targetName, Map<String, String> valueMap, String classKey) {
+        Map<String, String> values = null == valueMap ? Collections.<String, String>emptyMap() : valueMap;
+        ClassInfo srcInfo = null == srcName ? ClassInfo.of(src.getClass()) : null;
+        if (null == srcName) {
+            srcName = srcInfo.simpleName;
+        }
+        if (null == targetName) {
+            for (FieldInfo f : ClassInfo.of(target.getClass()).fields) {
+                if (f.list || f.custom || f.isFinal || f.isStatic) {
+                    continue;
+                }
+                Object value = read(src, srcInfo, srcName, f.name, f.uniqueName, values);
+                if (null == value || Primitives.wrap(f.type) != value.getClass()) {
+                    continue;
+                }
+                try {
+                    f.accessor.set(target, value);
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    log.warn("copy field {} failed", f.uniqueName, e);
+                }
+            }
+            return;
+        }
+        //目标Map没有声明字段，可能赋值的key为与源字段同名的key，以及valueMap中指向目标类的key
+        Set<String> names = new LinkedHashSet<>();
+        if (null == srcInfo) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> srcMap = (Map<String, Object>) src;
+            names.addAll(srcMap.keySet());
+        } else {
+            for (FieldInfo f : srcInfo.fields) {
+                names.add(f.name);
+            }
+        }
+        String targetPrefix = ReflectUtil.keyAddValue(targetName, "");
+        for (String targetKey : values.values()) {
+            if (null != targetKey && targetKey.startsWith(targetPrefix)) {
+                names.add(targetKey.substring(targetPrefix.length()));
+            }
+        }
+        names.remove(classKey);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> targetMap = (Map<String, Object>) target;
+        for (String name : names) {
+            Object value = read(src, srcInfo, srcName, name, targetPrefix + name, values);
+            if (null != value) {
+                targetMap.put(name, value);
+            }
+        }
+    }
+
+    /**
+     * 读取目标字段对应的源值
+     *
+     * @param srcInfo 源对象的class元数据，源对象是Map节点时为null
+     * @return 没有对应的源字段，或者源值为null、不是普通值时返回null
+     */
+    private static Object read(Object src, ClassInfo srcInfo, String srcName, String fieldName, String targetKey, Map<String, String> valueMap) {
+        String srcKey = srcKey(srcName, fieldName, targetKey, valueMap);
+        String srcPrefix = ReflectUtil.keyAddValue(srcName, "");
+        if (null == srcKey || !srcKey.startsWith(srcPrefix)) {
+            return null;
+        }
+        String srcField = srcKey.substring(srcPrefix.length());
+        if (null == srcInfo) {
+            Object value = ((Map<?, ?>) src).get(srcField);
+            if (null == value) {
+                return null;
+            }
+            ClassInfo info = ClassInfo.of(value.getClass());
+            return info.list || info.custom ? null : value;
+        }
+        for (FieldInfo f : srcInfo.fields) {
+            if (f.name.equals(srcField)) {
+                return f.list || f.custom || f.isFinal ? null : f.accessor.get(src);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 复制字段，源字段值为null的不复制
+     *
+     * @param src
+     * @param target
+     */
+    void copy(Object src, Object target) {
+        for (int i = 0; i < to.length; i++) {
+            try {
+                FieldAccessor f = to[i];
+                if (f.isPrimitive()) {
+                    f.copy(src, from[i], target);
+                    continue;
+                }
+                Object value = from[i].get(src);
+                if (null == value) {
+                    continue;
+                }
+                f.set(target, value);
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                log.warn("copy field {} failed", to[i].field, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:按字段路径编译的过滤条件，例如OrderDto上 items[*].productId -> 允许值，只访问路径上的对象
+ * 规则与RemoveFilter一致：路径最后的字段值不在允许值里面（或者为null）时，字段所在的对象从List中删除或者置为null
+ * 过滤条件不可变，可以在多个线程之间共享
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class PathFilter {
+
+    private final Class<?> rootClass;
+    private final FieldPath[] paths;
+    private final RemoveFilter.AllowSet[] allowed;
+
+    private PathFilter(Class<?> rootClass, FieldPath[] paths, RemoveFilter.AllowSet[] allowed) {
+        this.rootClass = rootClass;
+        this.paths = paths;
+        this.allowed = allowed;
+    }
+
+    /**
+     * 编译过滤条件，允许值会被复制，之后修改不影响过滤条件
+     *
+     * @param rootClass 根对象class，根对象是List时为元素class
+     * @param pathMap   字段路径 -> 允许值，例如 items[*].productId -> [1, 2]
+     * @return
+     * @throws IllegalArgumentException 路径无法解析
+     */
+    public static PathFilter compile(Class<?> rootClass, Map<String, List<Object>> pathMap) {
+        List<FieldPath> paths = new ArrayList<>();
+        List<RemoveFilter.AllowSet> allowed = new ArrayList<>();
+        if (null != pathMap) {
+            for (Map.Entry<String, List<Object>> entry : pathMap.entrySet()) {
+                paths.add(FieldPath.compile(rootClass, entry.getKey()));
+                allowed.add(RemoveFilter.AllowSet.of(entry.getValue()));
+            }
+        }
+        return new PathFilter(rootClass, paths.toArray(new FieldPath[0]), allowed.toArray(new RemoveFilter.AllowSet[0]));
+    }
+
+    /**
+     * 增加一个路径的允许值，返回新的过滤条件，当前过滤条件不变
+     * 允许值是整数，字段为long/int/short/byte及其包装类型时都可以比较，基础类型字段不装箱判断
+     *
+     * @param path    字段路径
+     * @param allowed 允许值，会被复制
+     * @return
+     */
+    public PathFilter allow(String path, LongHashSet allowed) {
+        FieldPath[] paths = new FieldPath[this.paths.length + 1];
+        RemoveFilter.AllowSet[] sets = new RemoveFilter.AllowSet[paths.length];
+        System.arraycopy(this.paths, 0, paths, 0, this.paths.length);
+        System.arraycopy(this.allowed, 0, sets, 0, this.allowed.length);
+        paths[this.paths.length] = FieldPath.compile(rootClass, path);
+        sets[this.paths.length] = RemoveFilter.AllowSet.of(allowed);
+        return new PathFilter(rootClass, paths, sets);
+    }
+
+    public Class<?> rootClass() {
+        return rootClass;
+    }
+
+    /**
+     * 编译好的路径
+     *
+     * @return
+     */
+    public List<FieldPath> paths() {
+        return Collections.unmodifiableList(Arrays.asList(paths));
+    }
+
+    /**
+     * 依次按每个路径过滤
+     *
+     * @param metrics 调用统计，为null时不统计
+     * @return 根对象本身是否需要删除
+     */
+    boolean apply(Object root, CallMetrics metrics) {
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i].filter(root, allowed[i], metrics)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.google.common.collect.Multimap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:边遍历边到另一边的比对索引中查找，只记录命中的(比对key, 持有该字段的对象)，不为这一边建立索引
+ * 记录顺序与遍历顺序一致
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class ProbeVisitor implements FieldVisitor {
+
+    /**
+     * 类名_字段名 -> 比对字段序号
+     */
+    private final Map<String, Integer> compareKeys;
+    /**
+     * 另一边的比对索引，遍历期间只读
+     */
+    private final Multimap<JoinKey, Object> index;
+    /**
+     * 命中的比对key和对象，下标一一对应
+     */
+    final List<JoinKey> keys = new ArrayList<>();
+    final List<Object> owners = new ArrayList<>();
+
+    ProbeVisitor(Map<String, Integer> compareKeys, Multimap<JoinKey, Object> index) {
+        this.compareKeys = compareKeys;
+        this.index = index;
+    }
+
+    @Override
+    public Object accept(String uniqueName, Class<?> type) {
+        return compareKeys.get(uniqueName);
+    }
+
+    @Override
+    public void visit(Object mark, Object owner, Object value) {
+        JoinKey key = new JoinKey((Integer) mark, value);
+        if (index.containsKey(key)) {
+            keys.add(key);
+            owners.add(owner);
+        }
+    }
+
+    @Override
+    public FieldVisitor fork() {
+        return new ProbeVisitor(compareKeys, index);
+    }
+
+    @Override
+    public void merge(FieldVisitor other) {
+        keys.addAll(((ProbeVisitor) other).keys);
+        owners.addAll(((ProbeVisitor) other).owners);
+    }
+}
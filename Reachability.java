@@ -0,0 +1,302 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:类型可达性索引，根据字段声明类型和List泛型判断一个对象下面是否可能出现需要的字段
+ * 遍历时跳过不可能包含需要字段的子树；对象本身总是按运行时class判断
+ * 字段里可能放的是声明类型的子类，子类可能新增需要的字段，所以默认只有声明类型为final时才按声明类型跳过字段；
+ * 其他类型（包括Object、接口、抽象类、List泛型无法确定）进入字段，再按值的运行时class判断，List中的元素逐个判断
+ * 普通DTO很少声明为final，默认情况下跳过很少生效；{@link TraverseOptions#trustDeclaredTypes(boolean)}开启后具体类也按声明类型跳过
+ * Map字段可能是Map节点（{@link TraverseOptions#mapNodes(String)}），内容无法从类型确定，按可达处理
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class Reachability {
+
+    /**
+     * 缓存的字段组合个数上限，超过时淘汰最久没有使用的
+     */
+    private static final int MAX_CACHED = 512;
+
+    /**
+     * 类名_字段名集合 -> 可达性索引，有上限，被淘汰的索引及其引用的class可以回收
+     */
+    private static final Cache<Set<String>, Reachability> CACHE = CacheBuilder.newBuilder().maximumSize(MAX_CACHED).build();
+
+    /**
+     * 需要的字段，类名_字段名
+     */
+    private final Set<String> uniqueNames;
+    /**
+     * 具体类的字段是否按声明类型判断
+     */
+    private final boolean trustDeclaredTypes;
+    /**
+     * 同一组字段按声明类型判断的索引，第一次用到时创建
+     */
+    private volatile Reachability trusted;
+    /**
+     * class -> 是否可达
+     */
+    private final ConcurrentHashMap<Class<?>, Boolean> reachable = new ConcurrentHashMap<>();
+    /**
+     * class -> 遍历时每个字段是否需要进入
+     */
+    private final ConcurrentHashMap<Class<?>, Node> nodes = new ConcurrentHashMap<>();
+
+    private Reachability(Set<String> uniqueNames, boolean trustDeclaredTypes) {
+        this.uniqueNames = uniqueNames;
+        this.trustDeclaredTypes = trustDeclaredTypes;
+    }
+
+    /**
+     * 获取可达性索引
+     *
+     * @param uniqueNames 需要的字段，类名_字段名
+     * @return
+     */
+    static Reachability of(Set<String> uniqueNames) {
+        Reachability reach = CACHE.getIfPresent(uniqueNames);
+        if (null == reach) {
+            Set<String> key = Collections.unmodifiableSet(new HashSet<>(uniqueNames));
+            reach = new Reachability(key, false);
+            Reachability exist = CACHE.asMap().putIfAbsent(key, reach);
+            if (null != exist) {
+                reach = exist;
+            }
+        }
+        return reach;
+    }
+
+    /**
+     * 获取可达性索引
+     *
+     * @param uniqueName 需要的字段，类名_字段名
+     * @return
+     */
+    static Reachability of(String uniqueName) {
+        return of(Collections.singleton(uniqueName));
+    }
+
+    /**
+     * 合并两个可达性索引，需要的字段取并集
+     *
+     * @param first
+     * @param second
+     * @return
+     */
+    static Reachability of(Reachability first, Reachability second) {
+        if (first.uniqueNames.containsAll(second.uniqueNames)) {
+            return first;
+        }
+        Set<String> uniqueNames = new HashSet<>(first.uniqueNames);
+        uniqueNames.addAll(second.uniqueNames);
+        return of(uniqueNames);
+    }
+
+    /**
+     * 需要的字段相同、具体类的字段按声明类型判断的索引
+     *
+     * @param trustDeclaredTypes {@link TraverseOptions#trustDeclaredTypes(boolean)}
+     * @return
+     */
+    Reachability trustDeclaredTypes(boolean trustDeclaredTypes) {
+        if (trustDeclaredTypes == this.trustDeclaredTypes) {
+            return this;
+        }
+        if (!trustDeclaredTypes) {
+            return of(uniqueNames);
+        }
+        Reachability reach = trusted;
+        if (null == reach) {
+            //并发时可能创建多个，各自缓存，结果一致
+            reach = new Reachability(uniqueNames, true);
+            trusted = reach;
+        }
+        return reach;
+    }
+
+    /**
+     * 自定义对象在遍历时的可达性
+     *
+     * @param info 对象的运行时class，必须是自定义对象
+     * @return
+     */
+    Node node(ClassInfo info) {
+        Node node = nodes.get(info.type);
+        if (null == node) {
+            node = new Node(info);
+            nodes.putIfAbsent(info.type, node);
+        }
+        return node;
+    }
+
+    /**
+     * 当前类（不含父类）是否有需要的普通字段
+     */
+    private boolean matches(ClassInfo info) {
+        for (FieldInfo f : info.fields) {
+            if (!f.list && !f.custom && uniqueNames.contains(f.uniqueName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 字段里一定是这个类型的对象（List字段为元素类型）
+     *
+     * @return 可能是其他类型（子类、实现类）或者无法确定时返回null
+     */
+    private Class<?> childType(FieldInfo f) {
+        if (f.custom) {
+            return isClosed(f.type) ? f.type : null;
+        }
+        Type genericType = f.field.getGenericType();
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type[] args = ((ParameterizedType) genericType).getActualTypeArguments();
+        if (args.length != 1 || !(args[0] instanceof Class)) {
+            return null;
+        }
+        Class<?> element = (Class<?>) args[0];
+        return isClosed(element) ? element : null;
+    }
+
+    /**
+     * final的类型没有子类，可以按声明类型分析；信任声明类型时具体类也按声明类型分析
+     * 接口、抽象类和Object的值总是其他类型，Map可能是Map节点，都不按声明类型分析
+     */
+    private boolean isClosed(Class<?> type) {
+        if (Map.class.isAssignableFrom(type)) {
+            return false;
+        }
+        if (Modifier.isFinal(type.getModifiers())) {
+            return true;
+        }
+        return trustDeclaredTypes && !type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && Object.class != type;
+    }
+
+    /**
+     * 从cls出发按字段声明类型搜索，能找到需要的字段，或者有字段的类型不是final（子类可能有需要的字段）就可达
+     */
+    private boolean canReach(Class<?> cls) {
+        Boolean known = reachable.get(cls);
+        if (null != known) {
+            return known;
+        }
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        visited.add(cls);
+        queue.add(cls);
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+            known = reachable.get(current);
+            if (Boolean.FALSE.equals(known)) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(known) || expand(current, visited, queue)) {
+                reachable.putIfAbsent(cls, Boolean.TRUE);
+                return true;
+            }
+        }
+        //搜索过的类型都不可达
+        for (Class<?> type : visited) {
+            reachable.putIfAbsent(type, Boolean.FALSE);
+        }
+        return false;
+    }
+
+    /**
+     * @return 当前类型已经可以确定可达
+     */
+    private boolean expand(Class<?> cls, Set<Class<?>> visited, Deque<Class<?>> queue) {
+        ClassInfo info;
+        try {
+            info = ClassInfo.of(cls);
+        } catch (RuntimeException e) {
+            //无法解析的类型按可达处理
+            return true;
+        }
+        for (ClassInfo current = info; null != current; current = current.superInfo) {
+            if (matches(current)) {
+                return true;
+            }
+            for (FieldInfo f : current.fields) {
+                if (!f.list && !f.custom) {
+                    continue;
+                }
+                Class<?> child = childType(f);
+                if (null == child) {
+                    return true;
+                }
+                if (visited.add(child)) {
+                    queue.add(child);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 单个class的遍历信息
+     */
+    final class Node {
+        /**
+         * 当前对象（含父类字段）下面是否可能有需要的字段
+         */
+        final boolean reachable;
+        /**
+         * 与ClassInfo.fields一一对应，List和自定义对象字段是否需要进入，进入后仍按值的运行时class判断
+         */
+        final boolean[] descend;
+        /**
+         * 与ClassInfo.fields一一对应，普通字段是否是需要的字段
+         */
+        final boolean[] wanted;
+        /**
+         * 当前类和父类都没有需要进入的字段，只需要处理普通字段
+         */
+        final boolean flat;
+
+        private Node(ClassInfo info) {
+            this.reachable = canReach(info.type);
+            this.descend = new boolean[info.fields.length];
+            this.wanted = new boolean[info.fields.length];
+            if (!reachable) {
+                this.flat = true;
+                return;
+            }
+            boolean flat = true;
+            for (int i = 0; i < info.fields.length; i++) {
+                FieldInfo f = info.fields[i];
+                if (!f.list && !f.custom) {
+                    wanted[i] = uniqueNames.contains(f.uniqueName);
+                    continue;
+                }
+                Class<?> child = childType(f);
+                descend[i] = null == child || canReach(child);
+                flat &= !descend[i];
+            }
+            this.flat = flat && (null == info.superInfo || node(info.superInfo).flat);
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.coocaa.lite.os.common.utils;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Created by IntelliJ IDEA.
@@ -29,11 +30,186 @@ public class ReflectUtil {
      * @return
      */
     public static <T> T removeObject(T object, Map<String, Map<String, List<Object>>> filterMap) {
-        boolean b = removeData(object, object.getClass(), filterMap);
-        if (b) {
+        return removeObject(object, RemoveFilter.compile(filterMap));
+    }
+
+    /**
+     * 清除对象里面不匹配过滤条件的数据，过滤条件可以复用
+     *
+     * @param object
+     * @param filter 编译好的过滤条件 {@link RemoveFilter#compile(Map)}
+     * @param <T>
+     * @return
+     */
+    public static <T> T removeObject(T object, RemoveFilter filter) {
+        return removeObject(object, filter, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 清除对象里面不匹配过滤条件的数据
+     *
+     * @param object
+     * @param filter  编译好的过滤条件 {@link RemoveFilter#compile(Map)}
+     * @param options 遍历选项，例如并行遍历大list
+     * @param <T>
+     * @return
+     */
+    public static <T> T removeObject(T object, RemoveFilter filter, TraverseOptions options) {
+        CallMetrics metrics = options.begin("removeObject", object.getClass());
+        try {
+            Traversal traversal = new Traversal(filter, null, filter.reachability(), options, VisitedSet.of(options)).record(metrics);
+            boolean b = traversal.walk(object, ClassInfo.of(object.getClass()));
+            if (b) {
+                return null;
+            }
+            return object;
+        } finally {
+            options.end(metrics);
+        }
+    }
+
+    /**
+     * 按字段路径清除对象里面不匹配过滤条件的数据，只访问过滤路径上的对象
+     *
+     * @param object
+     * @param filter 按路径编译的过滤条件 {@link PathFilter#compile(Class, Map)}
+     * @param <T>
+     * @return object本身被过滤掉时返回null
+     */
+    public static <T> T removeObject(T object, PathFilter filter) {
+        return removeObject(object, filter, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 按字段路径清除对象里面不匹配过滤条件的数据
+     *
+     * @param object
+     * @param filter  按路径编译的过滤条件 {@link PathFilter#compile(Class, Map)}
+     * @param options 遍历选项，路径过滤只使用其中的调用统计
+     * @param <T>
+     * @return object本身被过滤掉时返回null
+     */
+    public static <T> T removeObject(T object, PathFilter filter, TraverseOptions options) {
+        if (null == object) {
             return null;
         }
-        return object;
+        CallMetrics metrics = options.begin("removeObject.path", object.getClass());
+        try {
+            return filter.apply(object, metrics) ? null : object;
+        } finally {
+            options.end(metrics);
+        }
+    }
+
+    /**
+     * 深复制对象，List、Map、Set以及自定义对象都会复制，String、包装类型、Date等普通值和其他JDK对象按引用复制
+     * 同一个对象被多处引用时只复制一次，复制结果中仍然是同一个对象
+     *
+     * @param object 数据对象，自定义对象需要有无参构造
+     * @param <T>
+     * @return
+     * @throws IllegalStateException 自定义对象没有无参构造
+     */
+    public static <T> T deepCopy(T object) {
+        return deepCopy(object, (RemoveFilter) null, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 复制对象，同时去掉不匹配filterMap的数据，源对象不会被修改，被过滤掉的数据也不会复制
+     * 过滤规则与removeObject相同：被过滤掉的对象不加入List，字段和Map节点的值为null
+     * 范围比removeObject大：普通Map的value和Set中的元素也会过滤，removeObject不进入这两种容器，这时结果与先deepCopy再removeObject不同
+     *
+     * @param object    数据对象，自定义对象需要有无参构造
+     * @param filterMap 过滤映射关系
+     *                  遵循规则是： 类名：字段名：字段值List<Object> Object紧紧支持基础类型，不支持复杂对象以及Date
+     * @param <T>
+     * @return 复制结果，object本身被过滤掉时返回null
+     */
+    public static <T> T deepCopy(T object, Map<String, Map<String, List<Object>>> filterMap) {
+        return deepCopy(object, RemoveFilter.compile(filterMap), TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 复制对象，同时去掉不匹配过滤条件的数据，过滤条件可以复用
+     *
+     * @param object 数据对象，自定义对象需要有无参构造
+     * @param filter 编译好的过滤条件 {@link RemoveFilter#compile(Map)}，为null时不过滤
+     * @param <T>
+     * @return 复制结果，object本身被过滤掉时返回null
+     */
+    public static <T> T deepCopy(T object, RemoveFilter filter) {
+        return deepCopy(object, filter, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 复制对象，同时去掉不匹配过滤条件的数据
+     *
+     * @param object  数据对象，自定义对象需要有无参构造
+     * @param filter  编译好的过滤条件 {@link RemoveFilter#compile(Map)}，为null时不过滤
+     * @param options 遍历选项，复制总是在当前线程中进行，并行选项不生效；关闭trackVisited时被多处引用的对象会复制多份
+     * @param <T>
+     * @return 复制结果，object本身被过滤掉时返回null
+     */
+    public static <T> T deepCopy(T object, RemoveFilter filter, TraverseOptions options) {
+        if (null == object) {
+            return null;
+        }
+        CallMetrics metrics = options.begin("deepCopy", object.getClass());
+        try {
+            @SuppressWarnings("unchecked")
+            T copy = (T) new DeepCopier(filter, options, metrics).copy(object);
+            return copy;
+        } finally {
+            options.end(metrics);
+        }
+    }
+
+    /**
+     * 预热字段元数据缓存，建议在启动时把需要用到的DTO传进来
+     * 会顺带预热字段中的自定义对象以及List泛型中的对象
+     *
+     * @param classes DTO的class
+     */
+    public static void warmUp(Collection<? extends Class<?>> classes) {
+        if (null == classes || classes.isEmpty()) {
+            return;
+        }
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> cls : classes) {
+            warmUp(cls, visited);
+        }
+    }
+
+    /**
+     * 预热字段元数据缓存
+     *
+     * @param classes DTO的class
+     */
+    public static void warmUp(Class<?>... classes) {
+        warmUp(Arrays.asList(classes));
+    }
+
+    private static void warmUp(Class<?> cls, Set<Class<?>> visited) {
+        if (null == cls || !visited.add(cls)) {
+            return;
+        }
+        for (ClassInfo info = ClassInfo.of(cls); null != info; info = info.superInfo) {
+            for (FieldInfo f : info.fields) {
+                if (f.custom) {
+                    warmUp(f.type, visited);
+                } else if (f.list) {
+                    //预热List的泛型对象
+                    Type genericType = f.field.getGenericType();
+                    if (genericType instanceof ParameterizedType) {
+                        for (Type arg : ((ParameterizedType) genericType).getActualTypeArguments()) {
+                            if (arg instanceof Class) {
+                                warmUp((Class<?>) arg, visited);
+                            }
+                        }
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -47,10 +223,8 @@ public class ReflectUtil {
      *                   遵循规则是： 类名：字段名：字段值List
      */
     public static void copyValue(Object src, Object target, Map<String, String> compareMap, Map<String, String> valueMap, Map<String, Map<String, List<Object>>> filterMap) {
-        if (null != filterMap && filterMap.size() != 0) {
-            target = removeObject(target, filterMap);
-        }
-        copyValue(src, target, compareMap, valueMap);
+        //过滤和建比对索引在同一次遍历中完成
+        CopyPlan.compile(compareMap, valueMap, filterMap).apply(src, target);
     }
 
     /**
@@ -74,42 +248,45 @@ public class ReflectUtil {
         if (null == src || null == target || null == compareMap || compareMap.size() == 0) {
             return;
         }
-        //1 分离出目标关联list和源关联list
-        List<String> compareKeysSrc = new ArrayList<>();
-        List<String> compareKeysTarget = new ArrayList<>();
-        Set<String> keys = compareMap.keySet();
-        for (String key : keys) {
-            compareKeysSrc.add(key);
-            String value = compareMap.get(key);
-            if (null == value || value.isEmpty()) {
-                //补充一下值，赋值为key
-                value = key;
-                compareMap.put(key, value);
-            }
-            compareKeysTarget.add(compareMap.get(key));
-        }
-
-        //2 获取包含当前关联key的对象（当前层）
-        Multimap<String, Object> reflectSrc = reflect(src, src.getClass(), compareKeysSrc);
-        //2 获取包含当前关联key的对象（当前层）
-        Multimap<String, Object> reflectTarget = reflect(target, target.getClass(), compareKeysTarget);
+        CopyPlan.compile(compareMap, valueMap, null).apply(src, target);
+    }
 
-        //3 赋值
-        Set<String> srcList = reflectSrc.keySet();
-        for (String key : srcList) {
-            String targetKey = changeTargetKey(compareMap, key);
-            if (null == targetKey || targetKey.isEmpty()) {
-                continue;
-            }
+    /**
+     * 批量赋值，源对象集合和目标对象集合各遍历一次后按比对值关联
+     *
+     * @param srcList    源对象集合
+     * @param targetList 目标对象集合
+     * @param compareMap 遵循 src:target规则
+     * @param valueMap   遵循 src:target规则
+     * @param policy     同一个比对值对应多个源对象时的处理方式
+     */
+    public static void copyValues(Collection<?> srcList, Collection<?> targetList, Map<String, String> compareMap, Map<String, String> valueMap, CopyPlan.DuplicatePolicy policy) {
+        if (null == compareMap || compareMap.size() == 0) {
+            return;
+        }
+        CopyPlan.compile(compareMap, valueMap, null).applyAll(srcList, targetList, policy);
+    }
 
-            Object[] srcObejcts = reflectSrc.get(key).toArray();
-            Object srcObejct = srcObejcts[0];
-            Collection<Object> targetObjects = reflectTarget.get(targetKey);
-            for (Object targetObject : targetObjects) {
-                copyObject(srcObejct, targetObject, valueMap);
-            }
+    /**
+     * 按编译好的复制计划赋值，计划可以复用
+     *
+     * @param src    源对象
+     * @param target 目标对象
+     * @param plan   复制计划 {@link CopyPlan#compile(Map, Map, Map)}
+     */
+    public static void copyValue(Object src, Object target, CopyPlan plan) {
+        plan.apply(src, target);
+    }
 
-        }
+    /**
+     * 获取对象中某个字段的valueList
+     *
+     * @param object     数据对象
+     * @param cls        对象class
+     * @param uniqueName 由class.getSimpleName_filedName组成
+     */
+    public static List<Object> getValueList(Object object, Class<?> cls, String uniqueName) {
+        return getValueList(object, cls, uniqueName, TraverseOptions.DEFAULT);
     }
 
     /**
@@ -118,80 +295,186 @@ public class ReflectUtil {
      * @param object     数据对象
      * @param cls        对象class
      * @param uniqueName 由class.getSimpleName_filedName组成
+     * @param options    遍历选项，例如并行遍历大list
      */
-    public static List<Object> getValueList(Object object, Class cls, String uniqueName) {
-        Set<Object> valueList = new HashSet<Object>();
+    public static List<Object> getValueList(Object object, Class<?> cls, String uniqueName, TraverseOptions options) {
         if (null == uniqueName || uniqueName.isEmpty()) {
             return new ArrayList<>();
         }
-
-        //传过来的对象就是list
-        if (isList(cls)) {
-            List<Object> list = (List) object;
-            for (Object o1 : list) {
-                List<Object> reflect = getValueList(o1, o1.getClass(), uniqueName);
-                valueList.addAll(reflect);
-            }
-            return new ArrayList<>(valueList);
+        Set<Object> valueList = new HashSet<>();
+        Map<String, Set<Object>> valueSets = Collections.singletonMap(uniqueName, valueList);
+        CallMetrics metrics = options.begin("getValueList", cls);
+        try {
+            Traversal traversal = new Traversal(null, new FieldVisitor[]{new ValueVisitor(valueSets)}, Reachability.of(uniqueName), options, VisitedSet.of(options)).record(metrics);
+            traversal.walk(object, ClassInfo.of(cls));
+        } finally {
+            options.end(metrics);
         }
+        return new ArrayList<>(valueList);
+    }
 
-        //传过来的对象为基本数据类型，不走一下逻辑
-        if (!isCustomClass(cls)) {
-            return new ArrayList<>(valueList);
-        }
+    /**
+     * 按字段路径获取值，只访问路径上的对象，例如OrderDto上的 items[*].skuCode
+     *
+     * @param object 数据对象
+     * @param path   编译好的路径 {@link FieldPath#compile(Class, String)}
+     * @return 去重后的值，不含null
+     */
+    public static List<Object> getValueList(Object object, FieldPath path) {
+        return getValueList(object, path, TraverseOptions.DEFAULT);
+    }
 
-        //一下为object为对象的逻辑
-        //获取参数类
-        Field[] fields = cls.getDeclaredFields();
-        for (int i = 0; i < fields.length; i++) {
-            try {
-                Field f = fields[i];
-                f.setAccessible(true);
-                String name = f.getName();
-                Object value = f.get(object);
-                Class<?> type = f.getType();
-                //判断该字段的value
-                if (null == value) {
-                    //没有进行下去的必要
-                    continue;
-                }
-                if (isList(type)) {
-                    //List对象
-                    List<Object> list = (List) value;
-                    for (Object o1 : list) {
-                        List<Object> reflect = getValueList(o1, o1.getClass(), uniqueName);
-                        valueList.addAll(reflect);
-                    }
-                } else if (isCustomClass(type)) {
-                    //自定义对象
-                    List<Object> reflect = getValueList(value, value.getClass(), uniqueName);
-                    valueList.addAll(reflect);
-                } else {
-                    //普通对象
-                    //key为类名_字段名
-                    String key = keyAddValue(cls.getSimpleName(), name);
-                    if (!uniqueName.equals(key)) {
-                        //对应的key不存在
-                        continue;
-                    }
-                    //比对的字段名不应该为对象或者List
-                    if (!valueList.contains(value)) {
+    /**
+     * 按字段路径获取值
+     *
+     * @param object  数据对象
+     * @param path    编译好的路径 {@link FieldPath#compile(Class, String)}
+     * @param options 遍历选项，路径取值只使用其中的调用统计
+     * @return 去重后的值，不含null
+     */
+    public static List<Object> getValueList(Object object, FieldPath path, TraverseOptions options) {
+        final Set<Object> valueList = new HashSet<>();
+        CallMetrics metrics = options.begin("getValueList.path", path.rootClass());
+        try {
+            path.walk(object, new FieldPath.Visitor() {
+                @Override
+                public void visit(Object owner, Object value) {
+                    if (null != value) {
                         valueList.add(value);
                     }
-
                 }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
+            }, metrics);
+        } finally {
+            options.end(metrics);
+        }
+        return new ArrayList<>(valueList);
+    }
+
+    /**
+     * 按需获取对象中某个字段的值，边遍历边返回
+     * 消费方不再取值时（例如anyMatch、findFirst、limit）不再继续遍历
+     *
+     * @param object     数据对象
+     * @param cls        对象class
+     * @param uniqueName 由class.getSimpleName_filedName组成
+     * @param distinct   是否去重，去重时记录已经返回过的值
+     * @return 顺序流，按遍历顺序返回
+     */
+    public static Stream<Object> streamValues(Object object, Class<?> cls, String uniqueName, boolean distinct) {
+        return streamValues(object, cls, uniqueName, distinct, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 按需获取对象中某个字段的值，边遍历边返回
+     *
+     * @param object     数据对象
+     * @param cls        对象class
+     * @param uniqueName 由class.getSimpleName_filedName组成
+     * @param distinct   是否去重，去重时记录已经返回过的值
+     * @param options    遍历选项，按需遍历总是在当前线程中进行，并行选项不生效
+     * @return 顺序流，按遍历顺序返回
+     */
+    public static Stream<Object> streamValues(Object object, Class<?> cls, String uniqueName, boolean distinct, TraverseOptions options) {
+        if (null == object || null == uniqueName || uniqueName.isEmpty()) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(new ValueSpliterator(object, ClassInfo.of(cls), uniqueName, distinct, options), false);
+    }
+
+    /**
+     * 获取对象中某个整数字段（long/int/short/byte及其包装类型）的去重后的值
+     * 基础类型字段不装箱读取，值不放进HashSet<Object>，适合id很多的数据
+     *
+     * @param object     数据对象
+     * @param cls        对象class
+     * @param uniqueName 由class.getSimpleName_filedName组成，字段不是整数类型时不收集
+     */
+    public static LongHashSet getLongSet(Object object, Class<?> cls, String uniqueName) {
+        return getLongSet(object, cls, uniqueName, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 获取对象中某个整数字段（long/int/short/byte及其包装类型）的去重后的值
+     *
+     * @param object     数据对象
+     * @param cls        对象class
+     * @param uniqueName 由class.getSimpleName_filedName组成，字段不是整数类型时不收集
+     * @param options    遍历选项，例如并行遍历大list
+     */
+    public static LongHashSet getLongSet(Object object, Class<?> cls, String uniqueName, TraverseOptions options) {
+        LongHashSet valueSet = new LongHashSet();
+        if (null == uniqueName || uniqueName.isEmpty()) {
+            return valueSet;
         }
+        CallMetrics metrics = options.begin("getLongSet", cls);
+        try {
+            Traversal traversal = new Traversal(null, new FieldVisitor[]{new LongVisitor(uniqueName, valueSet)}, Reachability.of(uniqueName), options, VisitedSet.of(options)).record(metrics);
+            traversal.walk(object, ClassInfo.of(cls));
+        } finally {
+            options.end(metrics);
+        }
+        return valueSet;
+    }
 
-        //判断是否有继承
-        Class<?> superClass = cls.getSuperclass();
-        if (superClass != Object.class) {
-            List<Object> reflect = getValueList(object, superClass, uniqueName);
-            valueList.addAll(reflect);
+    /**
+     * 获取对象中某个int字段（int/short/byte及其包装类型）的去重后的值，顺序不固定
+     *
+     * @param object     数据对象
+     * @param cls        对象class
+     * @param uniqueName 由class.getSimpleName_filedName组成
+     * @throws ArithmeticException 值超出int范围（字段是long）
+     */
+    public static int[] getIntArray(Object object, Class<?> cls, String uniqueName) {
+        long[] values = getLongSet(object, cls, uniqueName).toArray();
+        int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ints[i] = Math.toIntExact(values[i]);
         }
-        return new ArrayList<>(valueList);
+        return ints;
+    }
+
+    /**
+     * 一次遍历获取对象中多个字段的valueList
+     *
+     * @param object      数据对象
+     * @param cls         对象class
+     * @param uniqueNames 由class.getSimpleName_filedName组成
+     * @return uniqueName -> 去重后的值，按uniqueNames的顺序，没有值的uniqueName对应空集合
+     */
+    public static Map<String, Set<Object>> getValueSets(Object object, Class<?> cls, Collection<String> uniqueNames) {
+        return getValueSets(object, cls, uniqueNames, TraverseOptions.DEFAULT);
+    }
+
+    /**
+     * 一次遍历获取对象中多个字段的valueList
+     *
+     * @param object      数据对象
+     * @param cls         对象class
+     * @param uniqueNames 由class.getSimpleName_filedName组成
+     * @param options     遍历选项，例如并行遍历大list
+     * @return uniqueName -> 去重后的值，按uniqueNames的顺序，没有值的uniqueName对应空集合
+     */
+    public static Map<String, Set<Object>> getValueSets(Object object, Class<?> cls, Collection<String> uniqueNames, TraverseOptions options) {
+        Map<String, Set<Object>> valueSets = new LinkedHashMap<>();
+        if (null == uniqueNames || uniqueNames.isEmpty()) {
+            return valueSets;
+        }
+        for (String uniqueName : uniqueNames) {
+            if (null != uniqueName && !uniqueName.isEmpty()) {
+                valueSets.put(uniqueName, new HashSet<>());
+            }
+        }
+        if (valueSets.isEmpty() || null == object) {
+            return valueSets;
+        }
+        CallMetrics metrics = options.begin("getValueSets", cls);
+        try {
+            Traversal traversal = new Traversal(null, new FieldVisitor[]{new ValueVisitor(valueSets)}, Reachability.of(valueSets.keySet()), options, VisitedSet.of(options)).record(metrics);
+            traversal.walk(object, ClassInfo.of(cls));
+        } finally {
+            options.end(metrics);
+        }
+        return valueSets;
     }
 
     /**
@@ -256,222 +539,25 @@ public class ReflectUtil {
         return true;
     }
 
-    /**
-     * 递归方法判断该对象是否要删除
-     *
-     * @param object
-     * @param cls
-     * @param nameMap
-     * @return
-     */
-    private static boolean removeData(Object object, Class cls, Map<String, Map<String, List<Object>>> nameMap) {
-        if (null == object) {
-            return false;
-        }
-
-        //传过来的对象就是list
-        if (isList(cls)) {
-            List<Object> list = (List) object;
-            Iterator<Object> iter = list.iterator();
-            //迭代器remove()方法删除（推荐）,不然会报错
-            while (iter.hasNext()) {
-                Object item = iter.next();
-                boolean remove = removeData(item, item.getClass(), nameMap);
-                if (remove) {
-                    iter.remove();
-                }
-            }
-            return false;
-        }
-
-        //传过来的对象为基本数据类型，不走一下逻辑
-        if (!isCustomClass(cls)) {
-            return false;
-        }
-
-        //一下为object为对象的逻辑
-        Field[] fields = cls.getDeclaredFields();
-        for (int i = 0; i < fields.length; i++) {
-            try {
-                Field f = fields[i];
-                f.setAccessible(true);
-                String name = f.getName();
-                Object value = f.get(object);
-                Class<?> type = f.getType();
-                //判断该字段的value
-                if (isList(type)) {
-                    //List对象
-                    if (null == value) {
-                        //没有进行下去的必要
-                        continue;
-                    }
-                    List<Object> list = (List) value;
-                    Iterator<Object> iter = list.iterator();
-                    //迭代器remove()方法删除（推荐）,不然会报错
-                    while (iter.hasNext()) {
-                        Object item = iter.next();
-                        boolean remove = removeData(item, item.getClass(), nameMap);
-                        if (remove) {
-                            iter.remove();
-                        }
-                    }
-                } else if (isCustomClass(type)) {
-                    //自定义对象
-                    if (null == value) {
-                        //没有进行下去的必要
-                        continue;
-                    }
-                    boolean remove = removeData(value, value.getClass(), nameMap);
-                    if (remove) {
-                        f.set(object, null);
-                    }
-                } else {
-                    //普通对象
-                    //key为类名_字段名
-                    String simpleName = cls.getSimpleName();
-                    if (!nameMap.containsKey(simpleName)) {
-                        continue;
-                    }
-                    Map<String, List<Object>> keyMap = nameMap.get(simpleName);
-                    if (!keyMap.containsKey(name)) {
-                        continue;
-                    }
-                    if (null == value) {
-                        return true;
-                    }
-                    List<Object> va = keyMap.get(name);
-                    if (!va.contains(value)) {
-                        return true;
-                    }
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-
-        //判断是否有继承
-        Class<?> superClass = cls.getSuperclass();
-        if (superClass != Object.class) {
-            return removeData(object, superClass, nameMap);
-        }
-        return false;
-    }
-
-    /**
-     * 暂存当前字段的属性值
-     */
-    private static class FieldObject {
-        String key;
-        Class<?> type;
-        Object value;
-    }
-
-
     /**
      * 能进来这一层都都应该是当前对象类，没有多级
+     * 字段对应关系按(源class,目标class,valueMap)编译一次后缓存，源对象或者目标对象是Map节点时按key复制
      *
      * @param src
      * @param target
+     * @param options 遍历选项，决定哪些Map是Map节点
      */
-    private static void copyObject(Object src, Object target, Map<String, String> valueMap) {
+    static void copyObject(Object src, Object target, Map<String, String> valueMap, TraverseOptions options) {
         if (null == src || null == target) {
             return;
         }
-
-        //把源目标的所有字段的值都存储到srcFieldMap中
-        Map<String, FieldObject> srcFieldMap = new HashMap<>();
-        Class<?> clsSrc = src.getClass();
-        Field[] fieldsSrc = clsSrc.getDeclaredFields();
-        for (int i = 0; i < fieldsSrc.length; i++) {
-            try {
-                Field f = fieldsSrc[i];
-                f.setAccessible(true);
-                String name = f.getName();
-                Class<?> srcType = f.getType();
-                Object srcValue = f.get(src);
-                if (Modifier.isFinal(f.getModifiers())) {
-                    //如果字段为final修饰的话不存储
-                    continue;
-                }
-                if (isCustomClass(srcType)) {
-                    //如果字段的value是类的话不存储
-                    continue;
-                }
-                if (null == srcValue) {
-                    //如果字段的value是null的话不存储
-                    continue;
-                }
-                String nameKey = keyAddValue(clsSrc.getSimpleName(), name);
-                FieldObject fieldObject = new FieldObject();
-                fieldObject.key = name;
-                fieldObject.type = srcType;
-                fieldObject.value = srcValue;
-                srcFieldMap.put(nameKey, fieldObject);
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-
-        //赋值目标对象
-        Class<?> clsTarget = target.getClass();
-        Field[] fieldsTarget = clsTarget.getDeclaredFields();
-        for (int i = 0; i < fieldsTarget.length; i++) {
-            try {
-                Field f = fieldsTarget[i];
-                f.setAccessible(true);
-                String name = f.getName();
-                Class<?> type = f.getType();
-                //把目标key转换成源key
-                String srcKey = keyAddValue(clsSrc.getSimpleName(), name);
-                String targetKey = keyAddValue(clsTarget.getSimpleName(), name);
-
-                if (null != valueMap && valueMap.containsKey(srcKey)) {
-                    //如果目标字段与源对象的字段名字相同，但是源对象的字段又被指向了目标对象的另一个字段，那么这个目标与源对象相同的字段不应该被赋值
-                    String value = valueMap.get(srcKey);
-                    if (!targetKey.equalsIgnoreCase(value)) {
-                        continue;
-                    }
-                }
-
-                if (null != valueMap && valueMap.containsValue(targetKey)) {
-                    srcKey = changeSrcKey(valueMap, targetKey);
-                }
-
-                FieldObject fieldObject = srcFieldMap.get(srcKey);
-                if (null == fieldObject || !fieldObject.type.equals(type)) {
-                    continue;
-                }
-                f.set(target, fieldObject.value);
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-
-        //赋值完成,清楚缓存
-        srcFieldMap.clear();
-    }
-
-    /**
-     * 源key置换成目标key
-     *
-     * @param compareMap
-     * @param srcKey
-     * @return
-     */
-    private static String changeTargetKey(Map<String, String> compareMap, String srcKey) {
-        if (null == srcKey || srcKey.isEmpty() || null == compareMap) {
-            return srcKey;
-        }
-        Set<String> keys = compareMap.keySet();
-        for (String key : keys) {
-            if (!srcKey.startsWith(key)) {
-                continue;
-            }
-            //是对应的key，开始置换
-            srcKey = srcKey.replace(key, compareMap.get(key));
-            return srcKey;
+        String srcName = options.mapClassName(src);
+        String targetName = options.mapClassName(target);
+        if (null != srcName || null != targetName) {
+            ObjectCopier.copyMap(src, srcName, target, targetName, valueMap, options.mapClassKey());
+            return;
         }
-        return srcKey;
+        ObjectCopier.of(src.getClass(), target.getClass(), valueMap).copy(src, target);
     }
 
     /**
@@ -481,7 +567,7 @@ public class ReflectUtil {
      * @param targetKey
      * @return
      */
-    private static String changeSrcKey(Map<String, String> compareMap, String targetKey) {
+    static String changeSrcKey(Map<String, String> compareMap, String targetKey) {
         if (null == targetKey || targetKey.isEmpty() || null == compareMap) {
             return targetKey;
         }
@@ -496,92 +582,4 @@ public class ReflectUtil {
         }
         return targetKey;
     }
-
-
-    /**
-     * 把对象里面所有数据按照key:value存在Map里面
-     * <p>
-     * 1 写一个函数 把object转成MultiMap
-     * 2 写一个函数 赋值 参数是 俩个map以及一个List<Id>
-     * <p>
-     * compareKeys 中String的值为类名_字段名
-     *
-     * @param object 数据对象
-     * @param cls    对象class
-     */
-    private static Multimap<String, Object> reflect(Object object, Class cls, List<String> compareKeys) {
-        Multimap<String, Object> compareValueMap = ArrayListMultimap.create();
-        if (null == compareKeys || compareKeys.size() == 0) {
-            return compareValueMap;
-        }
-
-        //传过来的对象就是list
-        if (isList(cls)) {
-            List<Object> list = (List) object;
-            for (Object o1 : list) {
-                Multimap<String, Object> reflect = reflect(o1, o1.getClass(), compareKeys);
-                compareValueMap.putAll(reflect);
-            }
-            return compareValueMap;
-        }
-
-        //传过来的对象为基本数据类型，不走一下逻辑
-        if (!isCustomClass(cls)) {
-            return compareValueMap;
-        }
-
-        //一下为object为对象的逻辑
-        //获取参数类
-//        log.info(" =====start======  " + cls);
-        Field[] fields = cls.getDeclaredFields();
-        for (int i = 0; i < fields.length; i++) {
-            try {
-                Field f = fields[i];
-                f.setAccessible(true);
-                String name = f.getName();
-                Object value = f.get(object);
-                Class<?> type = f.getType();
-//                log.info("属性名：" + f.getName() + ";字段类型：" + f.getGenericType() + "；属性值：" + value);
-                //判断该字段的value
-                if (null == value) {
-                    //没有进行下去的必要
-                    continue;
-                }
-                if (isList(type)) {
-                    //List对象
-                    List<Object> list = (List) value;
-                    for (Object o1 : list) {
-                        Multimap<String, Object> reflect = reflect(o1, o1.getClass(), compareKeys);
-                        compareValueMap.putAll(reflect);
-                    }
-                } else if (isCustomClass(type)) {
-                    //自定义对象
-                    Multimap<String, Object> reflect = reflect(value, value.getClass(), compareKeys);
-                    compareValueMap.putAll(reflect);
-                } else {
-                    //普通对象
-                    //key为类名_字段名
-                    String key = keyAddValue(cls.getSimpleName(), name);
-                    if (!compareKeys.contains(key)) {
-                        //对应的key不存在
-                        continue;
-                    }
-                    //比对的字段名不应该为对象或者List
-                    compareValueMap.put(keyAddValue(key, value), object);
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-
-        //判断是否有继承
-        Class<?> superClass = cls.getSuperclass();
-        if (superClass != Object.class) {
-//            log.info(" ==========  " + superClass);
-            Multimap<String, Object> reflect = reflect(object, superClass, compareKeys);
-            compareValueMap.putAll(reflect);
-        }
-//        log.info(" =====end======  " + cls);
-        return compareValueMap;
-    }
 }
@@ -0,0 +1,300 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:编译好的过滤条件，filterMap只解析一次
+ * 允许值放在hash集合里，Long/Integer的允许值放在不装箱的long集合里，每个字段的判断为O(1)
+ * 过滤条件不可变，可以在多个线程之间共享
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@Slf4j
+public final class RemoveFilter {
+
+    private static final AllowSet[] NO_CHECKS = new AllowSet[0];
+
+    /**
+     * 类名 -> 字段名 -> 允许值
+     */
+    private final Map<String, Map<String, AllowSet>> allowMap;
+    /**
+     * class -> 与ClassInfo.fields一一对应的允许值，不需要判断的字段为null
+     */
+    private final ConcurrentHashMap<Class<?>, AllowSet[]> bound = new ConcurrentHashMap<>();
+    /**
+     * 过滤字段的可达性索引
+     */
+    private final Reachability reach;
+
+    private RemoveFilter(Map<String, Map<String, AllowSet>> allowMap) {
+        this.allowMap = allowMap;
+        Set<String> uniqueNames = new HashSet<>();
+        for (Map.Entry<String, Map<String, AllowSet>> entry : allowMap.entrySet()) {
+            for (String name : entry.getValue().keySet()) {
+                uniqueNames.add(ReflectUtil.keyAddValue(entry.getKey(), name));
+            }
+        }
+        this.reach = Reachability.of(uniqueNames);
+    }
+
+    /**
+     * 编译过滤条件，传入的map会被复制，之后修改不影响过滤条件
+     *
+     * @param filterMap 过滤映射关系
+     *                  遵循规则是： 类名：字段名：字段值List<Object> Object紧紧支持基础类型，不支持复杂对象以及Date
+     * @return
+     */
+    public static RemoveFilter compile(Map<String, Map<String, List<Object>>> filterMap) {
+        Map<String, Map<String, AllowSet>> allowMap = new HashMap<>();
+        if (null != filterMap) {
+            for (Map.Entry<String, Map<String, List<Object>>> entry : filterMap.entrySet()) {
+                if (null == entry.getValue()) {
+                    continue;
+                }
+                Map<String, AllowSet> keyMap = new HashMap<>();
+                for (Map.Entry<String, List<Object>> fieldEntry : entry.getValue().entrySet()) {
+                    keyMap.put(fieldEntry.getKey(), AllowSet.of(fieldEntry.getValue()));
+                }
+                allowMap.put(entry.getKey(), keyMap);
+            }
+        }
+        return new RemoveFilter(allowMap);
+    }
+
+    /**
+     * 增加一个字段的允许值，返回新的过滤条件，当前过滤条件不变
+     * 允许值是整数，字段为long/int/short/byte及其包装类型时都可以比较，基础类型字段不装箱判断
+     *
+     * @param className 类名
+     * @param fieldName 字段名
+     * @param allowed   允许值，会被复制，之后修改不影响过滤条件
+     * @return
+     */
+    public RemoveFilter allow(String className, String fieldName, LongHashSet allowed) {
+        Map<String, Map<String, AllowSet>> copy = new HashMap<>();
+        for (Map.Entry<String, Map<String, AllowSet>> entry : allowMap.entrySet()) {
+            copy.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        Map<String, AllowSet> keyMap = copy.get(className);
+        if (null == keyMap) {
+            keyMap = new HashMap<>();
+            copy.put(className, keyMap);
+        }
+        keyMap.put(fieldName, AllowSet.of(allowed));
+        return new RemoveFilter(copy);
+    }
+
+    /**
+     * 是否没有任何过滤条件
+     *
+     * @return
+     */
+    public boolean isEmpty() {
+        return allowMap.isEmpty();
+    }
+
+    Reachability reachability() {
+        return reach;
+    }
+
+    /**
+     * 获取class上需要判断的字段，与info.fields一一对应
+     *
+     * @param info
+     * @return class不在过滤条件中时返回null
+     */
+    AllowSet[] checks(ClassInfo info) {
+        AllowSet[] checks = bound.get(info.type);
+        if (null == checks) {
+            checks = bind(info);
+            bound.putIfAbsent(info.type, checks);
+        }
+        return checks == NO_CHECKS ? null : checks;
+    }
+
+    /**
+     * 只根据对象自己（含父类）的普通字段判断是否要删除，不进入子对象
+     *
+     * @param object
+     * @param info   对象的class元数据
+     * @return 有普通字段的值不在允许值里面时返回true
+     */
+    boolean rejects(Object object, ClassInfo info) {
+        for (ClassInfo current = info; null != current; current = current.superInfo) {
+            AllowSet[] checks = checks(current);
+            if (null == checks) {
+                continue;
+            }
+            FieldInfo[] fields = current.fields;
+            for (int i = 0; i < fields.length; i++) {
+                try {
+                    if (null != checks[i] && checks[i].rejects(fields[i].accessor, object)) {
+                        return true;
+                    }
+                } catch (IllegalArgumentException e) {
+                    //读取失败的字段不作为过滤依据
+                    log.warn("filter field {} failed", fields[i].uniqueName, e);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map节点按key判断，规则与对象字段一致：值为null时删除，List、Map和自定义对象的值不判断
+     *
+     * @param map       Map节点
+     * @param className Map节点的类名
+     * @return 有需要判断的值不在允许值里面时返回true
+     */
+    boolean rejects(Map<?, ?> map, String className) {
+        Map<String, AllowSet> keyMap = allowMap.get(className);
+        if (null == keyMap) {
+            return false;
+        }
+        for (Map.Entry<String, AllowSet> entry : keyMap.entrySet()) {
+            Object value = map.get(entry.getKey());
+            if (null == value) {
+                return true;
+            }
+            ClassInfo info = ClassInfo.of(value.getClass());
+            if (info.list || info.custom) {
+                continue;
+            }
+            if (!entry.getValue().contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AllowSet[] bind(ClassInfo info) {
+        Map<String, AllowSet> keyMap = allowMap.get(info.simpleName);
+        if (null == keyMap) {
+            return NO_CHECKS;
+        }
+        AllowSet[] checks = new AllowSet[info.fields.length];
+        boolean any = false;
+        for (int i = 0; i < info.fields.length; i++) {
+            FieldInfo f = info.fields[i];
+            if (f.list || f.custom) {
+                continue;
+            }
+            checks[i] = keyMap.get(f.name);
+            any |= null != checks[i];
+        }
+        return any ? checks : NO_CHECKS;
+    }
+
+    /**
+     * 单个字段的允许值
+     */
+    static final class AllowSet {
+
+        private static final Set<Object> NONE = Collections.emptySet();
+
+        /**
+         * 允许值全部为Long或者全部为Integer时使用
+         */
+        private final LongHashSet longs;
+        /**
+         * longs对应的包装类型，值的类型不一致时不匹配，与List.contains保持一致
+         * 为null时（允许值来自LongHashSet）所有整数类型都可以比较
+         */
+        private final Class<?> longType;
+        private final Set<Object> values;
+
+        private AllowSet(LongHashSet longs, Class<?> longType, Set<Object> values) {
+            this.longs = longs;
+            this.longType = longType;
+            this.values = values;
+        }
+
+        static AllowSet of(List<Object> allowed) {
+            if (null == allowed || allowed.isEmpty()) {
+                return new AllowSet(null, null, NONE);
+            }
+            Class<?> type = allowed.get(0) == null ? null : allowed.get(0).getClass();
+            boolean numeric = type == Long.class || type == Integer.class;
+            for (int i = 1; numeric && i < allowed.size(); i++) {
+                Object value = allowed.get(i);
+                numeric = null != value && value.getClass() == type;
+            }
+            if (numeric) {
+                LongHashSet longs = new LongHashSet(allowed.size());
+                for (Object value : allowed) {
+                    longs.add(((Number) value).longValue());
+                }
+                return new AllowSet(longs, type, null);
+            }
+            return new AllowSet(null, null, new HashSet<>(allowed));
+        }
+
+        static AllowSet of(LongHashSet allowed) {
+            if (null == allowed || allowed.isEmpty()) {
+                return new AllowSet(null, null, NONE);
+            }
+            return new AllowSet(allowed.copy(), null, null);
+        }
+
+        boolean contains(Object value) {
+            if (null != longs) {
+                Class<?> type = value.getClass();
+                if (null == longType) {
+                    return LongVisitor.isIntegral(type) && longs.contains(((Number) value).longValue());
+                }
+                return type == longType && longs.contains(((Number) value).longValue());
+            }
+            return values.contains(value);
+        }
+
+        /**
+         * 基础类型字段不装箱直接判断
+         *
+         * @param f 类型为long或者int的字段
+         * @return 不能按基础类型判断时返回false
+         */
+        boolean canTestPrimitive(FieldAccessor f) {
+            if (null == longs) {
+                return false;
+            }
+            if (null == longType) {
+                return f.isPrimitive() && LongVisitor.isIntegral(f.type);
+            }
+            return f.type == long.class && longType == Long.class || f.type == int.class && longType == Integer.class;
+        }
+
+        boolean containsPrimitive(FieldAccessor f, Object object) {
+            return longs.contains(LongVisitor.getLong(f, object));
+        }
+
+        /**
+         * 字段的值是否不在允许值里面，null不允许
+         *
+         * @param f      普通字段
+         * @param object 字段所在的对象
+         * @return
+         */
+        boolean rejects(FieldAccessor f, Object object) {
+            if (canTestPrimitive(f)) {
+                //long/int字段不装箱判断
+                return !containsPrimitive(f, object);
+            }
+            Object value = f.get(object);
+            return null == value || !contains(value);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:长期持有的目标对象的比对索引，由CopyPlan.index(target)建立
+ * 建立一次后多次apply(src)只遍历源对象，目标对象上增加、删除子对象时用add/remove/update增量维护，开销与变化的子对象大小成正比
+ * 索引按对象地址记录每个对象放入时的比对值，比对字段的值被修改后用update重新放入
+ * 索引有状态，不是线程安全的，多个线程使用时需要自己加锁
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class TargetIndex {
+
+    private final CopyPlan plan;
+    /**
+     * (比对字段序号, 比对值) -> 持有该字段的目标对象
+     */
+    private final ArrayListMultimap<JoinKey, Object> index = ArrayListMultimap.create();
+    /**
+     * 目标对象 -> 放入索引时的比对值，删除时不依赖对象当前的字段值
+     */
+    private final IdentityHashMap<Object, List<JoinKey>> ownerKeys = new IdentityHashMap<>();
+
+    TargetIndex(CopyPlan plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * 把目标对象上新增的子对象放入索引，有过滤条件时同时过滤子对象，已经在索引中的对象不会重复放入
+     *
+     * @param sub 子对象，可以是List
+     * @return sub本身是否被过滤掉，被过滤掉时不放入索引，需要调用方从目标对象上去掉
+     */
+    public boolean add(Object sub) {
+        if (null == sub) {
+            return false;
+        }
+        Multimap<JoinKey, Object> found = ArrayListMultimap.create();
+        if (plan.indexTarget(found).walk(sub, ClassInfo.of(sub.getClass()))) {
+            return true;
+        }
+        Map<Object, List<JoinKey>> added = new IdentityHashMap<>();
+        for (Map.Entry<JoinKey, Object> entry : found.entries()) {
+            Object owner = entry.getValue();
+            List<JoinKey> keys = added.get(owner);
+            if (null == keys) {
+                if (ownerKeys.containsKey(owner)) {
+                    //已经在索引中，比对值修改过的对象需要调用update
+                    continue;
+                }
+                keys = new ArrayList<>(1);
+                added.put(owner, keys);
+            }
+            keys.add(entry.getKey());
+            index.put(entry.getKey(), owner);
+        }
+        ownerKeys.putAll(added);
+        return false;
+    }
+
+    /**
+     * 把从目标对象上删除的子对象移出索引，子对象下面所有对象都会移出，包括被其他对象共用的对象
+     * 按放入时的比对值删除，比对字段后来被修改过也能删除干净
+     *
+     * @param sub 子对象，可以是List
+     */
+    public void remove(Object sub) {
+        if (null == sub || ownerKeys.isEmpty()) {
+            return;
+        }
+        VisitedSet visited = VisitedSet.local();
+        plan.walkTarget(visited).walk(sub, ClassInfo.of(sub.getClass()));
+        for (Object owner : visited.objects()) {
+            List<JoinKey> keys = ownerKeys.remove(owner);
+            if (null != keys) {
+                unindex(owner, keys);
+            }
+        }
+    }
+
+    /**
+     * 子对象的比对字段被修改后重新放入索引
+     *
+     * @param sub 子对象，可以是List
+     * @return sub本身是否被过滤掉
+     */
+    public boolean update(Object sub) {
+        remove(sub);
+        return add(sub);
+    }
+
+    /**
+     * 把src中匹配的数据复制到索引中的目标对象，只遍历src
+     *
+     * @param src 源对象
+     */
+    public void apply(Object src) {
+        if (null == src || index.isEmpty()) {
+            return;
+        }
+        TraverseOptions options = plan.options();
+        CallMetrics metrics = options.begin("index.apply", src.getClass());
+        try {
+            plan.joinIndex(Collections.singletonList(src), index, CopyPlan.DuplicatePolicy.FIRST, metrics);
+        } finally {
+            options.end(metrics);
+        }
+    }
+
+    /**
+     * 批量赋值，所有源对象共用一次遍历
+     *
+     * @param srcList 源对象集合
+     * @param policy  同一个比对值对应多个源对象时的处理方式
+     */
+    public void applyAll(Collection<?> srcList, CopyPlan.DuplicatePolicy policy) {
+        if (null == srcList || srcList.isEmpty() || index.isEmpty()) {
+            return;
+        }
+        TraverseOptions options = plan.options();
+        CallMetrics metrics = options.begin("index.applyAll", srcList.getClass());
+        try {
+            plan.joinIndex(srcList, index, null == policy ? CopyPlan.DuplicatePolicy.FIRST : policy, metrics);
+        } finally {
+            options.end(metrics);
+        }
+    }
+
+    /**
+     * 索引中的目标对象个数
+     *
+     * @return
+     */
+    public int size() {
+        return ownerKeys.size();
+    }
+
+    /**
+     * 按地址从每个比对值的对象列表中删除，不调用对象的equals
+     */
+    private void unindex(Object owner, List<JoinKey> keys) {
+        for (JoinKey key : keys) {
+            List<Object> owners = index.get(key);
+            for (int i = owners.size() - 1; i >= 0; i--) {
+                if (owners.get(i) == owner) {
+                    owners.remove(i);
+                    break;
+                }
+            }
+        }
+    }
+}
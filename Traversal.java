@@ -0,0 +1,734 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:对象图遍历，用显式栈代替递归，层级再深也不会栈溢出
+ * 一次遍历中同时完成过滤（RemoveFilter）和普通字段的处理（FieldVisitor，例如取值、建比对索引）
+ * <p>
+ * 遍历顺序与原来的递归一致：当前类的字段依次处理，List和自定义对象在字段所在位置展开，再处理父类的字段
+ * 进入一个对象时先按过滤条件判断对象自己的普通字段，要删除的对象不再进入，下面的数据不处理也不会交给访问者
+ * 访问者可以要求暂停（{@link #pause()}），遍历器停在当前位置，之后可以继续，用于按需取值
+ * 开启Map节点（{@link TraverseOptions#mapNodes(String)}）时Map按key依次处理，与对象字段一样取值、过滤，要删除的子节点置为null
+ * 开启调用统计时（{@link #record(CallMetrics)}）累加对象、字段、list元素、匹配和删除的个数，读写字段失败时计数并记录日志后跳过
+ * 遍历器有状态，只能在一个线程中使用
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@Slf4j
+final class Traversal {
+
+    private static final FieldVisitor[] NO_VISITORS = new FieldVisitor[0];
+
+    private static final int KEEP = 0;
+    private static final int REMOVE = 1;
+    /**
+     * 压入了新的栈帧，结果在出栈时得到
+     */
+    private static final int PUSHED = 2;
+    /**
+     * 访问者要求暂停，栈帧保留，resume时继续
+     */
+    private static final int PAUSED = 3;
+
+    /**
+     * 过滤条件，没有时为null
+     */
+    private final RemoveFilter filter;
+    private final FieldVisitor[] visitors;
+    /**
+     * 过滤字段和访问者需要的字段合在一起的可达性索引
+     */
+    private final Reachability reach;
+    private final TraverseOptions options;
+    /**
+     * 访问过的对象，为null时不记录
+     */
+    private final VisitedSet visited;
+    /**
+     * 调用统计，为null时不统计
+     */
+    private CallMetrics metrics;
+
+    /**
+     * 栈帧复用，不随出栈释放
+     */
+    private Frame[] stack = new Frame[16];
+    private int depth;
+    /**
+     * root的处理结果
+     */
+    private int state;
+    private boolean pause;
+
+    Traversal(RemoveFilter filter, FieldVisitor[] visitors, Reachability reach, TraverseOptions options, VisitedSet visited) {
+        this.filter = filter;
+        this.visitors = null == visitors ? NO_VISITORS : visitors;
+        this.reach = reach.trustDeclaredTypes(options.isTrustDeclaredTypes());
+        this.options = options;
+        this.visited = visited;
+    }
+
+    /**
+     * 遍历时累加到metrics，并行遍历的任务各自计数后合并进来
+     *
+     * @param metrics 调用统计，为null时不统计
+     * @return
+     */
+    Traversal record(CallMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * 遍历对象
+     *
+     * @param root 数据对象，可以是List
+     * @param info root的class元数据
+     * @return root是否需要删除
+     */
+    boolean walk(Object root, ClassInfo info) {
+        start(root, info);
+        resume();
+        return state == REMOVE;
+    }
+
+    /**
+     * 开始遍历，之后调用resume继续，可以分多次遍历完
+     *
+     * @param root 数据对象，可以是List
+     * @param info root的class元数据
+     */
+    void start(Object root, ClassInfo info) {
+        pause = false;
+        state = null == root ? KEEP : enter(root, info);
+    }
+
+    /**
+     * 继续遍历，访问者要求暂停时在处理完当前字段或者list元素后返回
+     *
+     * @return 是否已经遍历完
+     */
+    boolean resume() {
+        pause = false;
+        while (depth > 0) {
+            if (pause) {
+                return false;
+            }
+            Frame top = stack[depth - 1];
+            int result = null != top.list ? stepList(top) : null != top.entries ? stepMap(top) : stepObject(top);
+            if (result == PUSHED || result == PAUSED) {
+                continue;
+            }
+            state = result;
+            top.clear();
+            depth--;
+            if (depth > 0) {
+                childDone(stack[depth - 1], result == REMOVE);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 访问者调用，要求遍历在处理完当前字段或者list元素后暂停
+     */
+    void pause() {
+        pause = true;
+    }
+
+    /**
+     * 进入一个值
+     *
+     * @return KEEP/REMOVE表示已经处理完，PUSHED表示压入了栈帧
+     */
+    private int enter(Object value, ClassInfo info) {
+        //传过来的对象就是list
+        if (info.list) {
+            return enterList(asList(value));
+        }
+        String className = options.mapClassName(value);
+        if (null != className) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) value;
+            return enterMap(map, className);
+        }
+        //基本数据类型，不走一下逻辑
+        if (!info.custom) {
+            return KEEP;
+        }
+        //当前对象下面不可能有需要的字段
+        Reachability.Node node = reach.node(info);
+        if (!node.reachable) {
+            return KEEP;
+        }
+        if (null != metrics) {
+            metrics.objectsVisited++;
+        }
+        boolean first = null == visited || visited.add(value);
+        if (null != filter && filter.rejects(value, info)) {
+            return removed();
+        }
+        if (!first) {
+            //已经遍历过（被多处引用或者引用回上层对象），下面的数据已经处理过
+            return KEEP;
+        }
+        if (node.flat) {
+            //没有需要进入的字段，不压栈直接处理
+            visitLeaves(value, info, node);
+            return KEEP;
+        }
+        push().object(value, info, node);
+        return PUSHED;
+    }
+
+    /**
+     * 处理对象（含父类）的普通字段
+     */
+    private void visitLeaves(Object object, ClassInfo info, Reachability.Node node) {
+        if (visitors.length == 0) {
+            return;
+        }
+        for (ClassInfo current = info; null != current; current = current.superInfo) {
+            if (current != info) {
+                node = reach.node(current);
+                if (!node.reachable) {
+                    break;
+                }
+            }
+            FieldInfo[] fields = current.fields;
+            for (int i = 0; i < fields.length; i++) {
+                if (!node.wanted[i]) {
+                    continue;
+                }
+                try {
+                    visitLeaf(object, fields[i]);
+                } catch (IllegalArgumentException e) {
+                    failed(fields[i].uniqueName, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 进入Map节点，Map的内容无法从类型判断，总是进入
+     */
+    private int enterMap(Map<String, Object> map, String className) {
+        if (null != metrics) {
+            metrics.objectsVisited++;
+        }
+        boolean first = null == visited || visited.add(map);
+        if (null != filter && filter.rejects(map, className)) {
+            return removed();
+        }
+        if (!first) {
+            return KEEP;
+        }
+        push().map(map, className);
+        return PUSHED;
+    }
+
+    /**
+     * list节点的元素按Object读写，只有遍历自己放回去的元素
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object value) {
+        return (List<Object>) value;
+    }
+
+    private int enterList(List<Object> list) {
+        if (options.isParallel(list)) {
+            forkList(list);
+            return KEEP;
+        }
+        push().list(list);
+        return PUSHED;
+    }
+
+    /**
+     * 继续处理对象的字段，子对象需要进入时压栈返回
+     */
+    private int stepObject(Frame frame) {
+        while (true) {
+            FieldInfo[] fields = frame.info.fields;
+            while (frame.index < fields.length) {
+                if (pause) {
+                    return PAUSED;
+                }
+                int i = frame.index++;
+                FieldInfo f = fields[i];
+                try {
+                    if (!f.list && !f.custom) {
+                        //普通对象，不需要的字段不读取
+                        if (frame.node.wanted[i] && visitors.length != 0) {
+                            visitLeaf(frame.object, f);
+                        }
+                        continue;
+                    }
+                    if (!frame.node.descend[i]) {
+                        //字段下面不可能有需要的字段
+                        continue;
+                    }
+                    Object value = f.accessor.get(frame.object);
+                    if (null != metrics) {
+                        metrics.fieldsRead++;
+                    }
+                    if (null == value) {
+                        //没有进行下去的必要
+                        continue;
+                    }
+                    int state = f.list ? enterList(asList(value)) : enter(value, ClassInfo.of(value.getClass()));
+                    if (state == PUSHED) {
+                        frame.pending = f;
+                        return PUSHED;
+                    }
+                    if (state == REMOVE) {
+                        f.accessor.set(frame.object, null);
+                    }
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    failed(f.uniqueName, e);
+                }
+            }
+            //判断是否有继承
+            ClassInfo superInfo = frame.info.superInfo;
+            if (null == superInfo) {
+                return KEEP;
+            }
+            Reachability.Node node = reach.node(superInfo);
+            if (!node.reachable) {
+                //父类下面也不可能有
+                return KEEP;
+            }
+            frame.info = superInfo;
+            frame.node = node;
+            frame.index = 0;
+        }
+    }
+
+    /**
+     * 普通字段交给需要它的访问者，字段最多读取一次
+     */
+    private void visitLeaf(Object owner, FieldInfo f) {
+        boolean read = false;
+        Object value = null;
+        for (FieldVisitor visitor : visitors) {
+            Object mark = visitor.accept(f.uniqueName, f.type);
+            if (null == mark) {
+                continue;
+            }
+            if (f.accessor.isPrimitive() && visitor.visitPrimitive(mark, owner, f)) {
+                if (null != metrics) {
+                    metrics.fieldsRead++;
+                    metrics.matches++;
+                }
+                continue;
+            }
+            if (!read) {
+                value = f.accessor.get(owner);
+                read = true;
+                if (null != metrics) {
+                    metrics.fieldsRead++;
+                }
+            }
+            if (null != value) {
+                visitor.visit(mark, owner, value);
+                if (null != metrics) {
+                    metrics.matches++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 继续处理Map节点的key，普通值交给访问者，List、Map和自定义对象进入
+     */
+    private int stepMap(Frame frame) {
+        while (frame.entries.hasNext()) {
+            if (pause) {
+                return PAUSED;
+            }
+            Map.Entry<String, Object> entry = frame.entries.next();
+            Object value = entry.getValue();
+            if (null != metrics) {
+                metrics.fieldsRead++;
+            }
+            if (null == value) {
+                continue;
+            }
+            ClassInfo info = ClassInfo.of(value.getClass());
+            if (!info.list && !info.custom) {
+                if (visitors.length != 0) {
+                    visitValue(frame.object, ReflectUtil.keyAddValue(frame.className, entry.getKey()), value);
+                }
+                continue;
+            }
+            int state = enter(value, info);
+            if (state == PUSHED) {
+                frame.entry = entry;
+                return PUSHED;
+            }
+            if (state == REMOVE) {
+                removeEntry(entry);
+            }
+        }
+        return KEEP;
+    }
+
+    /**
+     * Map节点的普通值交给需要它的访问者
+     */
+    private void visitValue(Object owner, String uniqueName, Object value) {
+        for (FieldVisitor visitor : visitors) {
+            Object mark = visitor.accept(uniqueName, value.getClass());
+            if (null != mark) {
+                visitor.visit(mark, owner, value);
+                if (null != metrics) {
+                    metrics.matches++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 与对象字段一致，要删除的子节点置为null
+     */
+    private void removeEntry(Map.Entry<String, Object> entry) {
+        try {
+            entry.setValue(null);
+        } catch (UnsupportedOperationException e) {
+            failed(entry.getKey(), e);
+        }
+    }
+
+    /**
+     * 对象被过滤掉
+     */
+    private int removed() {
+        if (null != metrics) {
+            metrics.removals++;
+        }
+        return REMOVE;
+    }
+
+    /**
+     * 读写字段失败，跳过该字段继续遍历
+     */
+    private void failed(String name, Exception e) {
+        if (null != metrics) {
+            metrics.errors++;
+        }
+        log.warn("traverse field {} failed", name, e);
+    }
+
+    /**
+     * 继续处理list中的对象，RandomAccess的list按下标遍历
+     */
+    private int stepList(Frame frame) {
+        if (null != frame.iterator) {
+            while (frame.iterator.hasNext()) {
+                if (pause) {
+                    return PAUSED;
+                }
+                Object item = frame.iterator.next();
+                if (null != metrics) {
+                    metrics.elementsScanned++;
+                }
+                if (null == item) {
+                    continue;
+                }
+                int state = enter(item, ClassInfo.of(item.getClass()));
+                if (state == PUSHED) {
+                    return PUSHED;
+                }
+                if (state == REMOVE) {
+                    //迭代器remove()方法删除（推荐）,不然会报错
+                    frame.iterator.remove();
+                }
+            }
+            return KEEP;
+        }
+        while (frame.index < frame.size) {
+            if (pause) {
+                return PAUSED;
+            }
+            Object item = frame.list.get(frame.index++);
+            if (null != metrics) {
+                metrics.elementsScanned++;
+            }
+            if (null == item) {
+                continue;
+            }
+            int state = enter(item, ClassInfo.of(item.getClass()));
+            if (state == PUSHED) {
+                return PUSHED;
+            }
+            if (state == REMOVE) {
+                frame.markRemoved();
+            }
+        }
+        if (null != frame.removed) {
+            compact(frame.list, frame.removed, frame.size);
+        }
+        return KEEP;
+    }
+
+    /**
+     * 子对象处理完，需要删除时从上层对象或者list中去掉
+     */
+    private void childDone(Frame parent, boolean remove) {
+        if (!remove) {
+            return;
+        }
+        if (null != parent.list) {
+            if (null != parent.iterator) {
+                parent.iterator.remove();
+            } else {
+                parent.markRemoved();
+            }
+            return;
+        }
+        if (null != parent.entries) {
+            removeEntry(parent.entry);
+            return;
+        }
+        try {
+            parent.pending.accessor.set(parent.object, null);
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            failed(parent.pending.uniqueName, e);
+        }
+    }
+
+    private Frame push() {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth << 1);
+        }
+        Frame frame = stack[depth];
+        if (null == frame) {
+            frame = new Frame();
+            stack[depth] = frame;
+        }
+        depth++;
+        return frame;
+    }
+
+    /**
+     * 删除标记过的下标，保留的对象依次前移，最后一次删掉尾部
+     * 没有要删除的对象时不修改list，不可修改的list不会报错
+     * 第一个下标直接remove：Arrays.asList等可以set但不能删除的list在修改之前就抛出UnsupportedOperationException，不会只前移了一半
+     */
+    private static void compact(List<Object> list, BitSet removed, int size) {
+        if (removed.isEmpty()) {
+            return;
+        }
+        int kept = removed.nextSetBit(0);
+        list.remove(kept);
+        //remove之后原下标i的对象在i - 1
+        for (int i = removed.nextClearBit(kept); i < size; i = removed.nextClearBit(i + 1)) {
+            list.set(kept++, list.get(i - 1));
+        }
+        list.subList(kept, size - 1).clear();
+    }
+
+    /**
+     * 大list拆分到线程池，每个任务用自己的访问者，按下标顺序合并，删除在当前线程按下标压缩
+     * 结果与顺序遍历一致
+     */
+    private void forkList(List<Object> list) {
+        Part part = invoke(new WalkTask(this, list, 0, list.size()));
+        for (int i = 0; i < visitors.length; i++) {
+            visitors[i].merge(part.visitors[i]);
+        }
+        if (null != metrics) {
+            metrics.merge(part.metrics);
+        }
+        compact(list, part.removed, list.size());
+    }
+
+    /**
+     * 执行并行任务，已经在同一个线程池中时直接在当前线程拆分
+     */
+    private <V> V invoke(ForkJoinTask<V> task) {
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == options.pool()) {
+            return task.invoke();
+        }
+        return options.pool().invoke(task);
+    }
+
+    /**
+     * 栈帧，对象和list共用，出栈后复用
+     */
+    private static final class Frame {
+        Object object;
+        /**
+         * 当前处理到的类，处理完自己的字段后换成父类
+         */
+        ClassInfo info;
+        Reachability.Node node;
+        /**
+         * 等待子对象结果的字段
+         */
+        FieldInfo pending;
+
+        /**
+         * Map节点的key迭代器，类名，以及等待子节点结果的key
+         */
+        Iterator<Map.Entry<String, Object>> entries;
+        String className;
+        Map.Entry<String, Object> entry;
+
+        List<Object> list;
+        /**
+         * 不是RandomAccess的list用迭代器遍历和删除
+         */
+        Iterator<Object> iterator;
+        int size;
+        BitSet removed;
+
+        /**
+         * 对象字段的下标或者list的下标
+         */
+        int index;
+
+        void object(Object object, ClassInfo info, Reachability.Node node) {
+            this.object = object;
+            this.info = info;
+            this.node = node;
+            this.index = 0;
+        }
+
+        void map(Map<String, Object> map, String className) {
+            this.object = map;
+            this.className = className;
+            this.entries = map.entrySet().iterator();
+        }
+
+        void list(List<Object> list) {
+            this.list = list;
+            this.index = 0;
+            if (list instanceof RandomAccess) {
+                this.size = list.size();
+            } else {
+                this.iterator = list.iterator();
+            }
+        }
+
+        /**
+         * 标记刚处理的元素需要删除
+         */
+        void markRemoved() {
+            if (null == removed) {
+                removed = new BitSet(size);
+            }
+            removed.set(index - 1);
+        }
+
+        void clear() {
+            object = null;
+            info = null;
+            node = null;
+            pending = null;
+            entries = null;
+            className = null;
+            entry = null;
+            list = null;
+            iterator = null;
+            removed = null;
+        }
+    }
+
+    /**
+     * 并行任务的结果
+     */
+    private static final class Part {
+        final FieldVisitor[] visitors;
+        /**
+         * 要删除的下标
+         */
+        final BitSet removed = new BitSet();
+        /**
+         * 任务的计数，不统计时为null
+         */
+        final CallMetrics metrics;
+
+        Part(FieldVisitor[] visitors, CallMetrics metrics) {
+            this.visitors = visitors;
+            this.metrics = metrics;
+        }
+
+        /**
+         * 追加后面一段的结果
+         */
+        void merge(Part other) {
+            for (int i = 0; i < visitors.length; i++) {
+                visitors[i].merge(other.visitors[i]);
+            }
+            removed.or(other.removed);
+            if (null != metrics) {
+                metrics.merge(other.metrics);
+            }
+        }
+    }
+
+    /**
+     * 并行遍历list中[from, to)的对象
+     */
+    private static final class WalkTask extends RecursiveTask<Part> {
+        private static final long serialVersionUID = 1L;
+
+        private final Traversal parent;
+        private final List<Object> list;
+        private final int from;
+        private final int to;
+
+        WalkTask(Traversal parent, List<Object> list, int from, int to) {
+            this.parent = parent;
+            this.list = list;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Part compute() {
+            if (to - from <= parent.options.chunkSize(list.size())) {
+                FieldVisitor[] visitors = new FieldVisitor[parent.visitors.length];
+                for (int i = 0; i < visitors.length; i++) {
+                    visitors[i] = parent.visitors[i].fork();
+                }
+                CallMetrics metrics = null == parent.metrics ? null : new CallMetrics(null, null);
+                Part part = new Part(visitors, metrics);
+                //每个任务一个遍历器，过滤条件、可达性和访问记录共用
+                Traversal walker = new Traversal(parent.filter, visitors, parent.reach, parent.options, parent.visited).record(metrics);
+                for (int i = from; i < to; i++) {
+                    Object item = list.get(i);
+                    if (null != metrics) {
+                        metrics.elementsScanned++;
+                    }
+                    if (null != item && walker.walk(item, ClassInfo.of(item.getClass()))) {
+                        part.removed.set(i);
+                    }
+                }
+                return part;
+            }
+            int mid = (from + to) >>> 1;
+            WalkTask left = new WalkTask(parent, list, from, mid);
+            left.fork();
+            Part right = new WalkTask(parent, list, mid, to).compute();
+            Part part = left.join();
+            part.merge(right);
+            return part;
+        }
+    }
+}
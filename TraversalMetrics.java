@@ -0,0 +1,195 @@
+package com.coocaa.lite.os.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:调用统计的输出方式：监听器、慢调用阈值、JFR事件，不可变，可以在多个线程之间共享
+ * 通过{@link TraverseOptions#metrics(TraversalMetrics)}开启，没有开启时遍历中只多一次null判断
+ * 慢调用记录warn日志并通知监听器；JFR事件在JFR录制并开启了com.coocaa.lite.os.common.utils.Traversal事件时提交
+ * 核心代码按Java 8编译，不直接引用jdk.jfr和com.sun.management：JFR事件在jfr/中单独编译，JFR可用时反射加载；分配字节数通过MethodHandle读取
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@Slf4j
+public final class TraversalMetrics {
+
+    private static final String JFR_RECORDER = "com.coocaa.lite.os.common.utils.jfr.TraversalEventRecorder";
+
+    /**
+     * JFR事件的输出，当前JVM没有JFR（jdk.jfr）或者没有打包jfr/中的类时为null
+     */
+    private static final EventRecorder JFR = jfrRecorder();
+
+    /**
+     * com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)，JVM不支持时为null
+     */
+    private static final MethodHandle ALLOCATED_BYTES = allocatedBytesHandle();
+
+    /**
+     * 每次调用都通知，为null时只输出慢调用日志和JFR事件
+     */
+    private final MetricsListener listener;
+    /**
+     * 慢调用阈值，纳秒
+     */
+    private final long slowNanos;
+    private final boolean jfr;
+
+    private TraversalMetrics(MetricsListener listener, long slowNanos, boolean jfr) {
+        this.listener = listener;
+        this.slowNanos = slowNanos;
+        this.jfr = jfr;
+    }
+
+    /**
+     * 统计每次调用，结束后通知listener，默认没有慢调用阈值，JFR可用时提交JFR事件
+     *
+     * @param listener 监听器，例如{@link MetricsAggregator}，为null时只输出JFR事件
+     * @return
+     */
+    public static TraversalMetrics of(MetricsListener listener) {
+        return new TraversalMetrics(listener, Long.MAX_VALUE, null != JFR);
+    }
+
+    /**
+     * 耗时达到millis毫秒的调用记录warn日志并通知{@link MetricsListener#onSlowCall(CallMetrics)}
+     *
+     * @param millis 阈值，毫秒
+     * @return
+     */
+    public TraversalMetrics slowThreshold(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("millis must not be negative: " + millis);
+        }
+        return new TraversalMetrics(listener, TimeUnit.MILLISECONDS.toNanos(millis), jfr);
+    }
+
+    /**
+     * 是否提交JFR事件，JFR不可用时不生效
+     *
+     * @param jfr 是否提交
+     * @return
+     */
+    public TraversalMetrics jfr(boolean jfr) {
+        return new TraversalMetrics(listener, slowNanos, jfr && null != JFR);
+    }
+
+    /**
+     * 开始统计一次调用
+     */
+    CallMetrics begin(String entryPoint, Class<?> rootClass) {
+        CallMetrics metrics = new CallMetrics(entryPoint, rootClass);
+        if (jfr) {
+            metrics.event = JFR.start();
+        }
+        metrics.start();
+        return metrics;
+    }
+
+    /**
+     * 结束统计，输出到JFR、监听器和日志
+     */
+    void end(CallMetrics metrics) {
+        metrics.stop();
+        if (null != metrics.event) {
+            JFR.finish(metrics.event, metrics);
+        }
+        boolean slow = metrics.nanos() >= slowNanos;
+        if (slow) {
+            log.warn("slow call: {}", metrics);
+        }
+        if (null == listener) {
+            return;
+        }
+        try {
+            listener.onCall(metrics);
+            if (slow) {
+                listener.onSlowCall(metrics);
+            }
+        } catch (RuntimeException e) {
+            log.warn("metrics listener failed: {}", metrics, e);
+        }
+    }
+
+    /**
+     * 当前线程已经分配的字节数
+     *
+     * @return JVM不支持时返回-1
+     */
+    static long allocatedBytes() {
+        if (null == ALLOCATED_BYTES) {
+            return -1;
+        }
+        try {
+            return (long) ALLOCATED_BYTES.invokeExact(Thread.currentThread().getId());
+        } catch (Throwable e) {
+            return -1;
+        }
+    }
+
+    private static EventRecorder jfrRecorder() {
+        ClassLoader loader = TraversalMetrics.class.getClassLoader();
+        try {
+            Class.forName("jdk.jfr.Event", false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        try {
+            return (EventRecorder) Class.forName(JFR_RECORDER, true, loader).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            //没有打包jfr/，或者JDK 8的JFR不能加载按Java 11编译的类
+            log.debug("jfr events not available", e);
+            return null;
+        }
+    }
+
+    private static MethodHandle allocatedBytesHandle() {
+        try {
+            Object bean = ManagementFactory.getThreadMXBean();
+            Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+            if (!type.isInstance(bean)) {
+                return null;
+            }
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodType flag = MethodType.methodType(boolean.class);
+            if (!(boolean) lookup.findVirtual(type, "isThreadAllocatedMemorySupported", flag).invoke(bean)
+                    || !(boolean) lookup.findVirtual(type, "isThreadAllocatedMemoryEnabled", flag).invoke(bean)) {
+                return null;
+            }
+            return lookup.findVirtual(type, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class)).bindTo(bean);
+        } catch (Throwable e) {
+            log.debug("thread allocated bytes not supported", e);
+            return null;
+        }
+    }
+
+    /**
+     * 调用开始和结束时的事件输出，jfr/中的实现在JFR可用时反射加载，需要public的无参构造方法
+     */
+    public interface EventRecorder {
+
+        /**
+         * 开始计时
+         *
+         * @return 事件，没有开启时返回null
+         */
+        Object start();
+
+        /**
+         * 结束计时并提交事件
+         *
+         * @param event   start()返回的事件
+         * @param metrics 本次调用的统计
+         */
+        void finish(Object event, CallMetrics metrics);
+    }
+}
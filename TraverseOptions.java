@@ -0,0 +1,238 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:遍历对象时的选项，不可变，可以在多个线程之间共享
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class TraverseOptions {
+
+    /**
+     * 默认选项：单线程遍历，记录访问过的对象，不信任字段声明类型，Map不作为节点遍历，不统计调用
+     */
+    public static final TraverseOptions DEFAULT = new TraverseOptions(null, Integer.MAX_VALUE, true, false, null, null, null);
+
+    /**
+     * 并行遍历使用的线程池，为null时不并行
+     */
+    private final ForkJoinPool pool;
+    /**
+     * list元素个数达到该值时并行遍历
+     */
+    private final int parallelThreshold;
+    /**
+     * 是否记录访问过的对象
+     */
+    private final boolean trackVisited;
+    /**
+     * 是否按具体类的字段声明类型跳过子树
+     */
+    private final boolean trustDeclaredTypes;
+    /**
+     * Map节点的类名，为null时Map不作为节点遍历
+     */
+    private final Function<? super Map<String, Object>, String> mapClassName;
+    /**
+     * 类名所在的key，复制时不覆盖，类名不是从key中取时为null
+     */
+    private final String mapClassKey;
+    /**
+     * 调用统计，为null时不统计
+     */
+    private final TraversalMetrics metrics;
+
+    private TraverseOptions(ForkJoinPool pool, int parallelThreshold, boolean trackVisited, boolean trustDeclaredTypes,
+                            Function<? super Map<String, Object>, String> mapClassName, String mapClassKey, TraversalMetrics metrics) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.trackVisited = trackVisited;
+        this.trustDeclaredTypes = trustDeclaredTypes;
+        this.mapClassName = mapClassName;
+        this.mapClassKey = mapClassKey;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 元素个数达到threshold的list拆分到ForkJoinPool.commonPool()并行遍历
+     *
+     * @param threshold list元素个数阈值
+     * @return
+     */
+    public TraverseOptions parallel(int threshold) {
+        return parallel(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 元素个数达到threshold的list拆分到pool并行遍历
+     * 各个任务共用同一份访问记录，被多个元素共用的对象只会由一个任务遍历；关闭访问记录时各个list元素下面不能共用同一个对象
+     *
+     * @param threshold list元素个数阈值
+     * @param pool      线程池
+     * @return
+     */
+    public TraverseOptions parallel(int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        return new TraverseOptions(pool, threshold, trackVisited, trustDeclaredTypes, mapClassName, mapClassKey, metrics);
+    }
+
+    /**
+     * 关闭并行遍历
+     *
+     * @return
+     */
+    public TraverseOptions sequential() {
+        return new TraverseOptions(null, Integer.MAX_VALUE, trackVisited, trustDeclaredTypes, mapClassName, mapClassKey, metrics);
+    }
+
+    /**
+     * 是否按对象地址记录访问过的对象，默认开启
+     * 开启时被多处引用的对象只遍历一次，对象之间循环引用时不会重复进入
+     * 确定数据是一棵树（没有共用的对象，也没有引用回父对象）时可以关闭，省去记录的开销，关闭后数据中有循环引用会一直遍历下去
+     *
+     * @param trackVisited 是否记录
+     * @return
+     */
+    public TraverseOptions trackVisited(boolean trackVisited) {
+        return new TraverseOptions(pool, parallelThreshold, trackVisited, trustDeclaredTypes, mapClassName, mapClassKey, metrics);
+    }
+
+    /**
+     * 是否按字段的声明类型跳过不可能包含需要字段的子树，默认关闭
+     * 关闭时只有声明类型为final才按声明类型跳过，普通DTO的字段和List元素都会进入，再按值的运行时class判断，跳过很少生效
+     * 确定字段里放的就是声明的类型（没有带需要字段的子类）时可以开启，例如跳过订单上很大的审计、元数据子树；
+     * 开启后字段里放了带需要字段的子类时，这些字段会被漏掉。接口、抽象类、Object和Map字段仍然进入
+     *
+     * @param trustDeclaredTypes 是否信任声明类型
+     * @return
+     */
+    public TraverseOptions trustDeclaredTypes(boolean trustDeclaredTypes) {
+        return new TraverseOptions(pool, parallelThreshold, trackVisited, trustDeclaredTypes, mapClassName, mapClassKey, metrics);
+    }
+
+    /**
+     * 把Map<String, Object>当作对象遍历（例如JSON解码出来的Map/List），classKey对应的值作为Map节点的类名
+     * 之后Map的key与对象的字段一样按 类名_key 参与取值、比对、赋值和过滤，不需要先转成DTO
+     * 没有classKey的Map不作为节点，下面的数据不处理
+     *
+     * @param classKey 类名所在的key，例如"class"
+     * @return
+     */
+    public TraverseOptions mapNodes(final String classKey) {
+        if (null == classKey) {
+            throw new IllegalArgumentException("classKey is null");
+        }
+        return new TraverseOptions(pool, parallelThreshold, trackVisited, trustDeclaredTypes, new Function<Map<String, Object>, String>() {
+            @Override
+            public String apply(Map<String, Object> map) {
+                Object name = map.get(classKey);
+                return null == name ? null : name.toString();
+            }
+        }, classKey, metrics);
+    }
+
+    /**
+     * 把Map<String, Object>当作对象遍历，由className给出Map节点的类名
+     * 例如根据某个类型字段推断类名，返回null的Map不作为节点；类名来自某个key时复制数据会覆盖这个key，建议用{@link #mapNodes(String)}
+     *
+     * @param className Map -> 类名，为null时关闭
+     * @return
+     */
+    public TraverseOptions mapNodes(Function<? super Map<String, Object>, String> className) {
+        return new TraverseOptions(pool, parallelThreshold, trackVisited, trustDeclaredTypes, className, null, metrics);
+    }
+
+    /**
+     * 统计每次调用遍历的对象、字段、list元素、匹配和删除的个数以及耗时、分配的字节数，输出到监听器和JFR事件
+     * 支持removeObject、deepCopy、getValueList、getLongSet、getValueSets、copyValue/copyValues以及TargetIndex.apply，按需遍历的streamValues不统计
+     * 没有开启时遍历中只多一次null判断
+     *
+     * @param metrics 统计输出方式 {@link TraversalMetrics#of(MetricsListener)}，为null时关闭
+     * @return
+     */
+    public TraverseOptions metrics(TraversalMetrics metrics) {
+        return new TraverseOptions(pool, parallelThreshold, trackVisited, trustDeclaredTypes, mapClassName, mapClassKey, metrics);
+    }
+
+    /**
+     * 开始统计一次调用
+     *
+     * @return 没有开启统计时返回null
+     */
+    CallMetrics begin(String entryPoint, Class<?> rootClass) {
+        return null == metrics ? null : metrics.begin(entryPoint, rootClass);
+    }
+
+    /**
+     * 结束统计，call为null时不处理
+     */
+    void end(CallMetrics call) {
+        if (null != call) {
+            metrics.end(call);
+        }
+    }
+
+    /**
+     * list是否需要并行遍历，只拆分RandomAccess的list
+     */
+    boolean isParallel(List<?> list) {
+        return null != pool && list.size() >= parallelThreshold && list instanceof RandomAccess;
+    }
+
+    /**
+     * 是否开启了并行遍历
+     */
+    boolean isParallel() {
+        return null != pool;
+    }
+
+    /**
+     * Map节点的类名
+     *
+     * @return 不是Map节点时返回null
+     */
+    String mapClassName(Object value) {
+        if (null == mapClassName || !(value instanceof Map)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) value;
+        return mapClassName.apply(map);
+    }
+
+    /**
+     * Map节点类名所在的key，没有时为null
+     */
+    String mapClassKey() {
+        return mapClassKey;
+    }
+
+    boolean isTrackVisited() {
+        return trackVisited;
+    }
+
+    boolean isTrustDeclaredTypes() {
+        return trustDeclaredTypes;
+    }
+
+    ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * 每个任务顺序处理的元素个数
+     */
+    int chunkSize(int size) {
+        return Math.max(256, size / (pool.getParallelism() * 4));
+    }
+}
@@ -0,0 +1,89 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:按需遍历取字段值，每次取值时遍历到下一个值就暂停，消费方不再取值时不再遍历
+ * 只能顺序遍历，不支持拆分
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class ValueSpliterator extends Spliterators.AbstractSpliterator<Object> implements FieldVisitor {
+
+    private final Object root;
+    private final ClassInfo info;
+    /**
+     * 类名_字段名
+     */
+    private final String uniqueName;
+    /**
+     * 已经返回过的值，不去重时为null
+     */
+    private final Set<Object> seen;
+    /**
+     * 找到还没有返回的值
+     */
+    private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+    private final Traversal traversal;
+    private boolean started;
+    private boolean finished;
+
+    ValueSpliterator(Object root, ClassInfo info, String uniqueName, boolean distinct, TraverseOptions options) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | (distinct ? Spliterator.DISTINCT : 0));
+        this.root = root;
+        this.info = info;
+        this.uniqueName = uniqueName;
+        this.seen = distinct ? new HashSet<>() : null;
+        //按需遍历只能在当前线程中进行
+        TraverseOptions sequential = options.sequential();
+        this.traversal = new Traversal(null, new FieldVisitor[]{this}, Reachability.of(uniqueName), sequential, VisitedSet.of(sequential));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Object> action) {
+        while (buffer.isEmpty()) {
+            if (finished) {
+                return false;
+            }
+            if (!started) {
+                started = true;
+                traversal.start(root, info);
+            }
+            finished = traversal.resume();
+        }
+        action.accept(buffer.poll());
+        return true;
+    }
+
+    @Override
+    public Object accept(String uniqueName, Class<?> type) {
+        return this.uniqueName.equals(uniqueName) ? uniqueName : null;
+    }
+
+    @Override
+    public void visit(Object mark, Object owner, Object value) {
+        if (null != seen && !seen.add(value)) {
+            return;
+        }
+        buffer.add(value);
+        traversal.pause();
+    }
+
+    @Override
+    public FieldVisitor fork() {
+        throw new UnsupportedOperationException("lazy traversal is sequential");
+    }
+
+    @Override
+    public void merge(FieldVisitor other) {
+        throw new UnsupportedOperationException("lazy traversal is sequential");
+    }
+}
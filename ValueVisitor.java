@@ -0,0 +1,54 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:收集字段值，类名_字段名 -> 去重后的值
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class ValueVisitor implements FieldVisitor {
+
+    /**
+     * 类名_字段名 -> 值，只收集已有的key
+     */
+    private final Map<String, Set<Object>> valueSets;
+
+    ValueVisitor(Map<String, Set<Object>> valueSets) {
+        this.valueSets = valueSets;
+    }
+
+    @Override
+    public Object accept(String uniqueName, Class<?> type) {
+        return valueSets.get(uniqueName);
+    }
+
+    @Override
+    public void visit(Object mark, Object owner, Object value) {
+        @SuppressWarnings("unchecked")
+        Set<Object> values = (Set<Object>) mark;
+        values.add(value);
+    }
+
+    @Override
+    public FieldVisitor fork() {
+        Map<String, Set<Object>> copy = new HashMap<>();
+        for (String uniqueName : valueSets.keySet()) {
+            copy.put(uniqueName, new HashSet<>());
+        }
+        return new ValueVisitor(copy);
+    }
+
+    @Override
+    public void merge(FieldVisitor other) {
+        for (Map.Entry<String, Set<Object>> entry : ((ValueVisitor) other).valueSets.entrySet()) {
+            valueSets.get(entry.getKey()).addAll(entry.getValue());
+        }
+    }
+}
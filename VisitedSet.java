@@ -0,0 +1,104 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:遍历时已经访问过的对象，按对象地址（==）判断，不调用对象的equals/hashCode
+ * 同一个对象被多个父对象引用时只遍历一次，子对象引用回父对象时不会无限递归
+ * 并行遍历时使用线程安全的实现
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class VisitedSet {
+
+    /**
+     * 单线程遍历
+     */
+    private final Set<Object> local;
+    /**
+     * 并行遍历
+     */
+    private final Set<IdentityKey> shared;
+
+    private VisitedSet(boolean concurrent) {
+        if (concurrent) {
+            this.local = null;
+            this.shared = Collections.newSetFromMap(new ConcurrentHashMap<IdentityKey, Boolean>());
+        } else {
+            this.local = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            this.shared = null;
+        }
+    }
+
+    /**
+     * 按遍历选项创建
+     *
+     * @param options 遍历选项
+     * @return 关闭了访问记录时返回null
+     */
+    static VisitedSet of(TraverseOptions options) {
+        if (!options.isTrackVisited()) {
+            return null;
+        }
+        return new VisitedSet(options.isParallel());
+    }
+
+    /**
+     * 单线程遍历使用的访问记录，不受遍历选项影响，遍历后可以取出访问过的对象
+     *
+     * @return
+     */
+    static VisitedSet local() {
+        return new VisitedSet(false);
+    }
+
+    /**
+     * 访问过的对象，只有单线程遍历的访问记录支持
+     *
+     * @return
+     */
+    Set<Object> objects() {
+        if (null == local) {
+            throw new UnsupportedOperationException("concurrent visited set");
+        }
+        return local;
+    }
+
+    /**
+     * @param object
+     * @return 是否第一次访问
+     */
+    boolean add(Object object) {
+        if (null != local) {
+            return local.add(object);
+        }
+        return shared.add(new IdentityKey(object));
+    }
+
+    /**
+     * 按地址比较的key
+     */
+    private static final class IdentityKey {
+        private final Object object;
+
+        IdentityKey(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.BenchmarkFixtures.OrderItemDto;
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:字段读写改用FieldAccessor前后对比：field*为原来的Field.get/Field.set，accessor*为FieldAccessor
+ * <p>
+ * 运行：java -jar benchmark/target/benchmarks.jar AccessorBenchmark -prof gc
+ * copy复制3个基础类型字段（int/long/double），Field.get/set每个值装箱一次，FieldAccessor.copy不装箱
+ * get读取2个引用类型字段，FieldAccessor对引用类型字段同样走Field.get，两者应当持平
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+    private static final String[] PRIMITIVES = {"quantity", "price", "discount"};
+
+    private static final String[] REFERENCES = {"productId", "skuCode"};
+
+    @State(Scope.Thread)
+    public static class ItemPairs {
+        @Param({"1000", "100000"})
+        int size;
+        OrderItemDto[] src;
+        OrderItemDto[] target;
+        Field[] primitiveFields;
+        FieldAccessor[] primitiveAccessors;
+        Field[] referenceFields;
+        FieldAccessor[] referenceAccessors;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Random random = new Random(size);
+            src = new OrderItemDto[size];
+            target = new OrderItemDto[size];
+            for (int i = 0; i < size; i++) {
+                src[i] = BenchmarkFixtures.item(i, size, random);
+                src[i].price = random.nextLong();
+                src[i].discount = random.nextDouble();
+                target[i] = new OrderItemDto();
+            }
+            ClassInfo info = ClassInfo.of(OrderItemDto.class);
+            primitiveFields = new Field[PRIMITIVES.length];
+            primitiveAccessors = new FieldAccessor[PRIMITIVES.length];
+            for (int i = 0; i < PRIMITIVES.length; i++) {
+                FieldInfo f = field(info, PRIMITIVES[i]);
+                primitiveFields[i] = f.field;
+                primitiveAccessors[i] = f.accessor;
+            }
+            referenceFields = new Field[REFERENCES.length];
+            referenceAccessors = new FieldAccessor[REFERENCES.length];
+            for (int i = 0; i < REFERENCES.length; i++) {
+                FieldInfo f = field(info, REFERENCES[i]);
+                referenceFields[i] = f.field;
+                referenceAccessors[i] = f.accessor;
+            }
+        }
+
+        private static FieldInfo field(ClassInfo info, String name) {
+            for (FieldInfo f : info.fields) {
+                if (f.name.equals(name)) {
+                    return f;
+                }
+            }
+            throw new IllegalStateException("no field " + name);
+        }
+    }
+
+    @Benchmark
+    public OrderItemDto[] fieldCopy(ItemPairs pairs) throws IllegalAccessException {
+        for (int i = 0; i < pairs.src.length; i++) {
+            for (Field f : pairs.primitiveFields) {
+                f.set(pairs.target[i], f.get(pairs.src[i]));
+            }
+        }
+        return pairs.target;
+    }
+
+    @Benchmark
+    public OrderItemDto[] accessorCopy(ItemPairs pairs) throws IllegalAccessException {
+        for (int i = 0; i < pairs.src.length; i++) {
+            for (FieldAccessor f : pairs.primitiveAccessors) {
+                f.copy(pairs.src[i], f, pairs.target[i]);
+            }
+        }
+        return pairs.target;
+    }
+
+    @Benchmark
+    public void fieldGet(ItemPairs pairs, Blackhole blackhole) throws IllegalAccessException {
+        for (OrderItemDto item : pairs.src) {
+            for (Field f : pairs.referenceFields) {
+                blackhole.consume(f.get(item));
+            }
+        }
+    }
+
+    @Benchmark
+    public void accessorGet(ItemPairs pairs, Blackhole blackhole) {
+        for (OrderItemDto item : pairs.src) {
+            for (FieldAccessor f : pairs.referenceAccessors) {
+                blackhole.consume(f.get(item));
+            }
+        }
+    }
+}
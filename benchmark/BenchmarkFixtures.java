@@ -0,0 +1,160 @@
+package com.coocaa.lite.os.common.utils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:压测用的数据，模拟订单和商品接口返回的DTO，带继承、List字段以及审计等无关子树
+ * date: 2026/10/18
+ * version: 1.0
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static class BaseDto {
+        Long id;
+        Date createTime;
+        String createdBy;
+    }
+
+    static class OrderDto extends BaseDto {
+        String orderNo;
+        long userId;
+        double amount;
+        List<OrderItemDto> items;
+        AuditDto audit;
+    }
+
+    static class OrderItemDto extends BaseDto {
+        Long productId;
+        String skuCode;
+        int quantity;
+        long price;
+        double discount;
+        String productName;
+        Integer stock;
+    }
+
+    static class AuditDto {
+        String operator;
+        List<AuditLogDto> logs;
+    }
+
+    static class AuditLogDto {
+        String action;
+        String remark;
+        Date time;
+    }
+
+    static class ProductPage {
+        int total;
+        List<ProductDto> records;
+    }
+
+    static class ProductDto extends BaseDto {
+        String name;
+        Integer stock;
+        long price;
+        double discount;
+        String brand;
+    }
+
+    /**
+     * 一个订单，items数量为size，每个item带一条审计日志
+     */
+    static OrderDto order(int size, int productRange, Random random) {
+        OrderDto order = new OrderDto();
+        order.id = 1L;
+        order.createTime = new Date();
+        order.createdBy = "system";
+        order.orderNo = "NO" + random.nextInt(1000000);
+        order.userId = random.nextInt(100000);
+        order.amount = random.nextDouble() * 1000;
+        order.items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            order.items.add(item(i, productRange, random));
+        }
+        order.audit = new AuditDto();
+        order.audit.operator = "system";
+        order.audit.logs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            AuditLogDto log = new AuditLogDto();
+            log.action = "create";
+            log.remark = "item " + i;
+            log.time = order.createTime;
+            order.audit.logs.add(log);
+        }
+        return order;
+    }
+
+    static OrderItemDto item(int index, int productRange, Random random) {
+        OrderItemDto item = new OrderItemDto();
+        item.id = (long) index;
+        item.productId = (long) random.nextInt(productRange);
+        item.skuCode = "SKU" + item.productId;
+        item.quantity = 1 + random.nextInt(5);
+        return item;
+    }
+
+    /**
+     * 商品分页数据，商品id为0到size-1
+     */
+    static ProductPage products(int size) {
+        ProductPage page = new ProductPage();
+        page.total = size;
+        page.records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ProductDto product = new ProductDto();
+            product.id = (long) i;
+            product.name = "product " + i;
+            product.stock = i % 100;
+            product.price = 100L + i;
+            product.discount = 0.9;
+            product.brand = "brand";
+            page.records.add(product);
+        }
+        return page;
+    }
+
+    /**
+     * ProductDto.id(继承自BaseDto) -> OrderItemDto.productId
+     */
+    static Map<String, String> compareMap() {
+        Map<String, String> compareMap = new HashMap<>();
+        compareMap.put("BaseDto_id", "OrderItemDto_productId");
+        return compareMap;
+    }
+
+    /**
+     * ProductDto.name -> OrderItemDto.productName
+     */
+    static Map<String, String> valueMap() {
+        Map<String, String> valueMap = new HashMap<>();
+        valueMap.put("ProductDto_name", "OrderItemDto_productName");
+        return valueMap;
+    }
+
+    /**
+     * 保留productId小于keep的item
+     */
+    static Map<String, Map<String, List<Object>>> filterMap(int keep) {
+        List<Object> allowed = new ArrayList<>(keep);
+        for (long i = 0; i < keep; i++) {
+            allowed.add(i);
+        }
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", allowed);
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("OrderItemDto", keyMap);
+        return filterMap;
+    }
+}
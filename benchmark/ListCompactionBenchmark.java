@@ -0,0 +1,108 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.BenchmarkFixtures.OrderItemDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:过滤list改为一次前移压缩前后对比，过滤掉90%的元素
+ * <p>
+ * 运行：java -jar benchmark/target/benchmarks.jar ListCompactionBenchmark
+ * iteratorRemove为原来的做法，逐个Iterator.remove，每次删除都移动ArrayList尾部；compact为现在的做法，标记后保留的元素前移，一次删掉尾部
+ * 两者使用同一个RemoveFilter判断元素，removeObject为ReflectUtil.removeObject的完整调用
+ * 默认只跑1万和10万，-p size=1000000时iteratorRemove单次需要数分钟
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListCompactionBenchmark {
+
+    /**
+     * 只保留productId为0的item
+     */
+    private static final RemoveFilter FILTER = RemoveFilter.compile(BenchmarkFixtures.filterMap(1));
+
+    private static final ClassInfo ITEM = ClassInfo.of(OrderItemDto.class);
+
+    @State(Scope.Thread)
+    public static class Items {
+        @Param({"10000", "100000"})
+        int size;
+        List<OrderItemDto> source;
+        List<OrderItemDto> items;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            source = BenchmarkFixtures.order(size, 10, new Random(size)).items;
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            items = new ArrayList<>(source);
+        }
+    }
+
+    @Benchmark
+    public List<OrderItemDto> iteratorRemove(Items state) {
+        Iterator<OrderItemDto> iterator = state.items.iterator();
+        while (iterator.hasNext()) {
+            if (FILTER.rejects(iterator.next(), ITEM)) {
+                iterator.remove();
+            }
+        }
+        return state.items;
+    }
+
+    /**
+     * 与Traversal一致：BitSet标记要删除的下标，遍历完后保留的元素前移一次
+     */
+    @Benchmark
+    public List<OrderItemDto> compact(Items state) {
+        List<OrderItemDto> list = state.items;
+        int size = list.size();
+        BitSet removed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (FILTER.rejects(list.get(i), ITEM)) {
+                removed.set(i);
+            }
+        }
+        if (removed.isEmpty()) {
+            return list;
+        }
+        int kept = removed.nextSetBit(0);
+        for (int i = removed.nextClearBit(kept); i < size; i = removed.nextClearBit(i + 1)) {
+            list.set(kept++, list.get(i));
+        }
+        list.subList(kept, size).clear();
+        return list;
+    }
+
+    @Benchmark
+    public List<OrderItemDto> removeObject(Items state) {
+        return ReflectUtil.removeObject(state.items, FILTER);
+    }
+}
@@ -0,0 +1,312 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.BenchmarkFixtures.OrderDto;
+import com.coocaa.lite.os.common.utils.BenchmarkFixtures.OrderItemDto;
+import com.coocaa.lite.os.common.utils.BenchmarkFixtures.ProductPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:ReflectUtil各入口的JMH压测
+ * <p>
+ * 构建：mvn -B install（根目录），mvn -B -f benchmark/pom.xml package
+ * 运行：java -jar benchmark/target/benchmarks.jar ReflectUtilBenchmark -p size=1000,100000 -t 1 -prof gc
+ * -t 指定线程数，-prof gc 输出单次分配的字节数（gc.alloc.rate.norm）
+ * <p>
+ * removeObject等会修改输入的用例在每次调用前复制输入（Level.Invocation），复制不计入耗时
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectUtilBenchmark {
+
+    /**
+     * 只保留productId为0的item
+     */
+    private static final RemoveFilter FILTER = RemoveFilter.compile(BenchmarkFixtures.filterMap(1));
+
+    /**
+     * 与FILTER相同的条件，按路径只访问item
+     */
+    private static final PathFilter PATH_FILTER = PathFilter.compile(OrderItemDto.class,
+            Collections.singletonMap("[*].productId", BenchmarkFixtures.filterMap(1).get("OrderItemDto").get("productId")));
+
+    private static final FieldPath PRODUCT_ID = FieldPath.compile(OrderDto.class, "items[*].productId");
+
+    /**
+     * list元素达到1万时并行遍历
+     */
+    private static final TraverseOptions PARALLEL = TraverseOptions.DEFAULT.parallel(10000);
+
+    /**
+     * 数据是一棵树，不记录访问过的对象
+     */
+    private static final TraverseOptions TREE = TraverseOptions.DEFAULT.trackVisited(false);
+
+    /**
+     * 开启调用统计，汇总到内存
+     */
+    private static final TraverseOptions METRICS = TraverseOptions.DEFAULT.metrics(TraversalMetrics.of(new MetricsAggregator()));
+
+    private static final List<String> VALUE_KEYS = Arrays.asList("OrderItemDto_productId", "OrderItemDto_skuCode", "OrderItemDto_quantity");
+
+    /**
+     * 只读的订单，productId在0到size-1之间
+     */
+    @State(Scope.Benchmark)
+    public static class OrderState {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+        OrderDto order;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            order = BenchmarkFixtures.order(size, size, new Random(size));
+        }
+    }
+
+    /**
+     * 只读的订单，productId在0到9之间，过滤掉90%的item
+     */
+    @State(Scope.Benchmark)
+    public static class FilterState {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+        OrderDto order;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            order = BenchmarkFixtures.order(size, 10, new Random(size));
+        }
+    }
+
+    /**
+     * productId在0到9之间，过滤掉90%的item，每次调用前复制，removeObject会修改输入
+     */
+    @State(Scope.Thread)
+    public static class RemoveState {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+        OrderDto source;
+        OrderDto order;
+        List<OrderItemDto> items;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            source = BenchmarkFixtures.order(size, 10, new Random(size));
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            order = new OrderDto();
+            order.id = source.id;
+            order.orderNo = source.orderNo;
+            order.items = new ArrayList<>(source.items);
+            order.audit = source.audit;
+            items = new ArrayList<>(source.items);
+        }
+    }
+
+    /**
+     * 商品分页复制到订单，多个线程写入的值相同
+     */
+    @State(Scope.Benchmark)
+    public static class CopyState {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+        ProductPage page;
+        OrderDto order;
+        final Map<String, String> compareMap = BenchmarkFixtures.compareMap();
+        final Map<String, String> valueMap = BenchmarkFixtures.valueMap();
+        final CopyPlan plan = CopyPlan.compile(compareMap, valueMap, null);
+        final CopyPlan pathPlan = CopyPlan.compile(ProductPage.class, OrderDto.class,
+                Collections.singletonMap("records[*].id", "items[*].productId"),
+                Collections.singletonMap("records[*].name", "items[*].productName"), null);
+
+        @Setup(Level.Trial)
+        public void setup() {
+            page = BenchmarkFixtures.products(size);
+            order = BenchmarkFixtures.order(size, size, new Random(size));
+        }
+    }
+
+    /**
+     * 目标订单很大、每次只有10个商品变化，索引不是线程安全的，每个线程一份
+     */
+    @State(Scope.Thread)
+    public static class IndexState {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int size;
+        final ProductPage delta = BenchmarkFixtures.products(10);
+        final CopyPlan plan = CopyPlan.compile(BenchmarkFixtures.compareMap(), BenchmarkFixtures.valueMap(), null);
+        OrderDto order;
+        TargetIndex index;
+        /**
+         * 每次移出再放回索引的item
+         */
+        OrderItemDto churn;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            order = BenchmarkFixtures.order(size, size, new Random(size));
+            index = plan.index(order);
+            churn = order.items.get(0);
+        }
+    }
+
+    @Benchmark
+    public List<Object> getValueList(OrderState state) {
+        return ReflectUtil.getValueList(state.order, OrderDto.class, "OrderItemDto_productId");
+    }
+
+    @Benchmark
+    public LongHashSet getLongSet(OrderState state) {
+        return ReflectUtil.getLongSet(state.order, OrderDto.class, "OrderItemDto_productId");
+    }
+
+    /**
+     * 只判断是否存在
+     */
+    @Benchmark
+    public Optional<Object> streamValuesAny(OrderState state) {
+        return ReflectUtil.streamValues(state.order, OrderDto.class, "OrderItemDto_productId", true).findFirst();
+    }
+
+    @Benchmark
+    public List<Object> getValueListTree(OrderState state) {
+        return ReflectUtil.getValueList(state.order, OrderDto.class, "OrderItemDto_productId", TREE);
+    }
+
+    @Benchmark
+    public List<Object> getValueListPath(OrderState state) {
+        return ReflectUtil.getValueList(state.order, PRODUCT_ID);
+    }
+
+    @Benchmark
+    public List<Object> getValueListMetrics(OrderState state) {
+        return ReflectUtil.getValueList(state.order, OrderDto.class, "OrderItemDto_productId", METRICS);
+    }
+
+    @Benchmark
+    public List<Object> getValueListParallel(OrderState state) {
+        return ReflectUtil.getValueList(state.order, OrderDto.class, "OrderItemDto_productId", PARALLEL);
+    }
+
+    /**
+     * 3个字段：分别调用getValueList，与一次getValueSets对比
+     */
+    @Benchmark
+    public void getValueListX3(OrderState state, Blackhole blackhole) {
+        for (String uniqueName : VALUE_KEYS) {
+            blackhole.consume(ReflectUtil.getValueList(state.order, OrderDto.class, uniqueName));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Set<Object>> getValueSets(OrderState state) {
+        return ReflectUtil.getValueSets(state.order, OrderDto.class, VALUE_KEYS);
+    }
+
+    @Benchmark
+    public OrderDto copyValue(CopyState state) {
+        ReflectUtil.copyValue(state.page, state.order, state.compareMap, state.valueMap);
+        return state.order;
+    }
+
+    @Benchmark
+    public OrderDto copyPlan(CopyState state) {
+        state.plan.apply(state.page, state.order);
+        return state.order;
+    }
+
+    @Benchmark
+    public OrderDto copyPlanPath(CopyState state) {
+        state.pathPlan.apply(state.page, state.order);
+        return state.order;
+    }
+
+    @Benchmark
+    public List<OrderItemDto> copyValues(CopyState state) {
+        state.plan.applyAll(state.page.records, state.order.items, CopyPlan.DuplicatePolicy.FIRST);
+        return state.order.items;
+    }
+
+    /**
+     * 每次遍历整个目标对象
+     */
+    @Benchmark
+    public OrderDto copyPlanDelta(IndexState state) {
+        state.plan.apply(state.delta, state.order);
+        return state.order;
+    }
+
+    /**
+     * 复用目标索引并增量维护一个item
+     */
+    @Benchmark
+    public TargetIndex indexDelta(IndexState state) {
+        state.index.remove(state.churn);
+        state.index.add(state.churn);
+        state.index.apply(state.delta);
+        return state.index;
+    }
+
+    @Benchmark
+    public OrderDto removeObject(RemoveState state) {
+        return ReflectUtil.removeObject(state.order, BenchmarkFixtures.filterMap(1));
+    }
+
+    @Benchmark
+    public List<OrderItemDto> removeList(RemoveState state) {
+        return ReflectUtil.removeObject(state.items, FILTER);
+    }
+
+    @Benchmark
+    public List<OrderItemDto> removeListPath(RemoveState state) {
+        return ReflectUtil.removeObject(state.items, PATH_FILTER);
+    }
+
+    /**
+     * 复制整个订单，包括审计等子树
+     */
+    @Benchmark
+    public OrderDto deepCopy(FilterState state) {
+        return ReflectUtil.deepCopy(state.order);
+    }
+
+    /**
+     * 边复制边过滤，源对象不修改
+     */
+    @Benchmark
+    public OrderDto deepCopyFilter(FilterState state) {
+        return ReflectUtil.deepCopy(state.order, FILTER);
+    }
+}
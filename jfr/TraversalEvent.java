@@ -0,0 +1,45 @@
+package com.coocaa.lite.os.common.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:一次调用的JFR事件，时长为调用耗时，字段与CallMetrics一致
+ * date: 2026/10/18
+ * version: 1.0
+ */
+@Name("com.coocaa.lite.os.common.utils.Traversal")
+@Label("Bean Traversal")
+@Category({"BeanUtil"})
+@Description("getValueList/removeObject/copyValue等调用的遍历统计")
+@StackTrace(false)
+final class TraversalEvent extends Event {
+
+    @Label("Entry Point")
+    String entryPoint;
+    @Label("Root Class")
+    Class<?> rootClass;
+    @Label("Objects Visited")
+    long objectsVisited;
+    @Label("Fields Read")
+    long fieldsRead;
+    @Label("Elements Scanned")
+    long elementsScanned;
+    @Label("Matches")
+    long matches;
+    @Label("Removals")
+    long removals;
+    @Label("Errors")
+    long errors;
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,45 @@
+package com.coocaa.lite.os.common.utils.jfr;
+
+import com.coocaa.lite.os.common.utils.CallMetrics;
+import com.coocaa.lite.os.common.utils.TraversalMetrics;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:把调用统计提交为JFR事件，依赖jdk.jfr，按Java 11单独编译
+ * 由TraversalMetrics在JFR可用时反射加载，没有JFR的JVM不会用到这个类
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public final class TraversalEventRecorder implements TraversalMetrics.EventRecorder {
+
+    @Override
+    public Object start() {
+        TraversalEvent event = new TraversalEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void finish(Object object, CallMetrics metrics) {
+        TraversalEvent event = (TraversalEvent) object;
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.entryPoint = metrics.entryPoint();
+        event.rootClass = metrics.rootClass();
+        event.objectsVisited = metrics.objectsVisited();
+        event.fieldsRead = metrics.fieldsRead();
+        event.elementsScanned = metrics.elementsScanned();
+        event.matches = metrics.matches();
+        event.removals = metrics.removals();
+        event.errors = metrics.errors();
+        event.allocatedBytes = metrics.allocatedBytes();
+        event.commit();
+    }
+}
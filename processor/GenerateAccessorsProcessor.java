@@ -0,0 +1,257 @@
+package com.coocaa.lite.os.common.utils.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:为标记了GenerateAccessors的DTO生成GeneratedAccessor实现，字段按下标用switch分发，读写直接访问字段
+ * 只依赖注解和接口的类名，不依赖工具类本身，可以单独打包放到annotation processor path
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class GenerateAccessorsProcessor extends AbstractProcessor {
+
+    private static final String ANNOTATION = "com.coocaa.lite.os.common.utils.GenerateAccessors";
+    private static final String INTERFACE = "com.coocaa.lite.os.common.utils.GeneratedAccessor";
+    /**
+     * 与GeneratedAccessor.SUFFIX一致
+     */
+    private static final String SUFFIX = "$$Accessor";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateAccessors only applies to classes");
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                if (!isAccessible(type)) {
+                    //生成类无法引用该类型，运行时继续走反射
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "@GenerateAccessors ignored, class is private: " + type.getQualifiedName(), type);
+                    continue;
+                }
+                List<Property> properties = collect(type);
+                if (properties.isEmpty()) {
+                    //lombok等字段全部为private的DTO没有可以生成的字段，不生成空的读写器
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "@GenerateAccessors generates nothing, no non-private non-final instance field: " + type.getQualifiedName()
+                                    + ", all fields keep reflection", type);
+                    continue;
+                }
+                try {
+                    write(type, properties);
+                } catch (IOException e) {
+                    error(type, "failed to generate accessor: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单个字段的读写方式
+     */
+    private static final class Property {
+        final String name;
+        /**
+         * 字段类型擦除后的类型名
+         */
+        final String type;
+        final TypeKind kind;
+        /**
+         * 读表达式，o为已经强转的DTO对象
+         */
+        final String read;
+        /**
+         * 写语句前缀，后面接类型名和 ") value);"，例如 o.name = ((
+         */
+        final String write;
+
+        Property(String name, String type, TypeKind kind, String read, String write) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+            this.read = read;
+            this.write = write;
+        }
+    }
+
+    /**
+     * 收集可以生成读写方法的字段：非static、非final、非private，生成的代码与DTO在同一个包，直接访问字段
+     * private字段不生成，运行时继续走反射；不使用getter/setter，它们可能有额外逻辑，结果会与反射读写字段不一致
+     */
+    private List<Property> collect(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            TypeMirror fieldType = field.asType();
+            String typeName = processingEnv.getTypeUtils().erasure(fieldType).toString();
+            properties.add(new Property(name, typeName, fieldType.getKind(), "o." + name, "o." + name + " = (("));
+        }
+        return properties;
+    }
+
+    /**
+     * 生成类与DTO在同一个包，DTO本身以及外部类都不能是private
+     */
+    private static boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (((TypeElement) element).getNestingKind() != NestingKind.MEMBER) {
+                return ((TypeElement) element).getNestingKind() == NestingKind.TOP_LEVEL;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void write(TypeElement type, List<Property> properties) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        StringBuilder out = new StringBuilder();
+        out.append("// 由GenerateAccessorsProcessor生成，不要修改\n");
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        out.append("public final class ").append(simpleName).append(" implements ").append(INTERFACE).append(" {\n\n");
+        out.append("    private static final String[] FIELDS = {");
+        for (int i = 0; i < properties.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append('"').append(properties.get(i).name).append('"');
+        }
+        out.append("};\n\n");
+        out.append("    @Override\n    public Class<?> type() {\n        return ").append(typeName).append(".class;\n    }\n\n");
+        out.append("    @Override\n    public String[] fieldNames() {\n        return FIELDS.clone();\n    }\n");
+        appendGetter(out, "Object", "get", typeName, properties, null);
+        appendSetter(out, "Object", "set", typeName, properties, null);
+        for (TypeKind kind : new TypeKind[]{TypeKind.INT, TypeKind.LONG, TypeKind.DOUBLE, TypeKind.FLOAT,
+                TypeKind.BOOLEAN, TypeKind.BYTE, TypeKind.SHORT, TypeKind.CHAR}) {
+            String primitive = kind.name().toLowerCase();
+            String suffix = Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+            appendGetter(out, primitive, "get" + suffix, typeName, properties, kind);
+            appendSetter(out, primitive, "set" + suffix, typeName, properties, kind);
+        }
+        out.append("}\n");
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    /**
+     * kind为null时生成装箱的get，否则只包含该基础类型的字段，没有字段时使用接口的默认实现
+     */
+    private static void appendGetter(StringBuilder out, String returnType, String method, String typeName, List<Property> properties, TypeKind kind) {
+        StringBuilder cases = new StringBuilder();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (null == kind || property.kind == kind) {
+                cases.append("            case ").append(i).append(":\n                return ").append(property.read).append(";\n");
+            }
+        }
+        if (null != kind && cases.length() == 0) {
+            return;
+        }
+        out.append("\n    @Override\n    public ").append(returnType).append(' ').append(method).append("(int index, Object object) {\n");
+        out.append("        ").append(typeName).append(" o = (").append(typeName).append(") object;\n");
+        out.append("        switch (index) {\n").append(cases);
+        out.append("            default:\n                throw noField(index);\n        }\n    }\n");
+    }
+
+    /**
+     * kind为null时生成装箱的set，基础类型字段先强转为包装类型再拆箱
+     */
+    private static void appendSetter(StringBuilder out, String valueType, String method, String typeName, List<Property> properties, TypeKind kind) {
+        StringBuilder cases = new StringBuilder();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (null == kind || property.kind == kind) {
+                String cast = null == kind ? castType(property) : property.type;
+                cases.append("            case ").append(i).append(":\n                ").append(property.write)
+                        .append(cast).append(") value);\n                return;\n");
+            }
+        }
+        if (null != kind && cases.length() == 0) {
+            return;
+        }
+        out.append("\n    @Override\n    public void ").append(method).append("(int index, Object object, ").append(valueType).append(" value) {\n");
+        out.append("        ").append(typeName).append(" o = (").append(typeName).append(") object;\n");
+        out.append("        switch (index) {\n").append(cases);
+        out.append("            default:\n                throw noField(index);\n        }\n    }\n");
+    }
+
+    private static String castType(Property property) {
+        switch (property.kind) {
+            case INT:
+                return "java.lang.Integer";
+            case LONG:
+                return "java.lang.Long";
+            case DOUBLE:
+                return "java.lang.Double";
+            case FLOAT:
+                return "java.lang.Float";
+            case BOOLEAN:
+                return "java.lang.Boolean";
+            case BYTE:
+                return "java.lang.Byte";
+            case SHORT:
+                return "java.lang.Short";
+            case CHAR:
+                return "java.lang.Character";
+            default:
+                return property.type;
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,87 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:类字段元数据：按class缓存一次，字段分类与ReflectUtil.isList/isCustomClass一致，父类单独解析
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class ClassInfoTest {
+
+    static class Base {
+        Long id;
+    }
+
+    static class Item extends Base {
+        static String shared;
+        final String code = "c";
+        int quantity;
+        List<Item> children;
+        Base parent;
+    }
+
+    private static FieldInfo field(ClassInfo info, String name) {
+        for (FieldInfo f : info.fields) {
+            if (f.name.equals(name)) {
+                return f;
+            }
+        }
+        throw new AssertionError("no field " + name);
+    }
+
+    @Test
+    public void infoIsCachedPerClass() {
+        assertSame(ClassInfo.of(Item.class), ClassInfo.of(Item.class));
+        assertSame(ClassInfo.of(Base.class), ClassInfo.of(Item.class).superInfo);
+        assertNull(ClassInfo.of(Base.class).superInfo);
+    }
+
+    @Test
+    public void fieldsAreClassifiedOnce() {
+        ClassInfo info = ClassInfo.of(Item.class);
+
+        assertEquals("Item", info.simpleName);
+        assertTrue(info.custom);
+        assertFalse(info.list);
+        assertEquals(5, info.fields.length);
+        assertTrue(field(info, "shared").isStatic);
+        assertTrue(field(info, "code").isFinal);
+        assertTrue(field(info, "children").list);
+        assertTrue(field(info, "parent").custom);
+        assertFalse(field(info, "quantity").custom);
+        assertEquals("Item_quantity", field(info, "quantity").uniqueName);
+        assertEquals("Base_id", ClassInfo.of(Base.class).fields[0].uniqueName);
+    }
+
+    @Test
+    public void nonCustomClassesHaveNoFields() {
+        assertEquals(0, ClassInfo.of(String.class).fields.length);
+        assertEquals(0, ClassInfo.of(Long.class).fields.length);
+        assertTrue(ClassInfo.of(ArrayList.class).list);
+        assertEquals(0, ClassInfo.of(ArrayList.class).fields.length);
+        assertEquals(0, ClassInfo.of(HashMap.class).fields.length);
+    }
+
+    @Test
+    public void classificationMatchesReflectUtil() {
+        for (Class<?> type : new Class<?>[]{Item.class, Base.class, String.class, Long.class, int.class, ArrayList.class, List.class}) {
+            assertEquals(type.getName(), ReflectUtil.isList(type), ClassInfo.of(type).list);
+            assertEquals(type.getName(), ReflectUtil.isCustomClass(type), ClassInfo.of(type).custom);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:编译好的复制计划：按比对值复制、valueMap改名、过滤目标对象，计划编译后不受传入map修改的影响
+ * 批量赋值：多个源对象和多个目标对象按比对值关联，比对值重复时按DuplicatePolicy处理
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class CopyPlanTest {
+
+    static class Product {
+        Long id;
+        String name;
+        Long price;
+        String brand;
+
+        Product(long id, String name, long price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.brand = "b" + id;
+        }
+    }
+
+    static class Item {
+        Long productId;
+        String name;
+        Long price;
+        String brandName;
+        int quantity;
+
+        Item(long productId, int quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+    }
+
+    static class Order {
+        List<Item> items;
+    }
+
+    private static List<Product> products() {
+        return new ArrayList<>(Arrays.asList(new Product(1, "p1", 10), new Product(2, "p2", 20), new Product(3, "p3", 30)));
+    }
+
+    private static Order order(long... productIds) {
+        Order order = new Order();
+        order.items = new ArrayList<>();
+        for (long productId : productIds) {
+            order.items.add(new Item(productId, 1));
+        }
+        return order;
+    }
+
+    @Test
+    public void copiesMatchedSourcesIntoTargets() {
+        Order order = order(2, 3, 4, 2);
+
+        CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, null).apply(products(), order);
+
+        assertEquals("p2", order.items.get(0).name);
+        assertEquals(Long.valueOf(30), order.items.get(1).price);
+        assertNull(order.items.get(2).name);
+        assertEquals("p2", order.items.get(3).name);
+        assertEquals(1, order.items.get(3).quantity);
+        assertNull(order.items.get(0).brandName);
+    }
+
+    @Test
+    public void valueMapCopiesRenamedFields() {
+        Order order = order(1);
+
+        CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), Collections.singletonMap("Product_brand", "Item_brandName"), null)
+                .apply(products(), order);
+
+        assertEquals("b1", order.items.get(0).brandName);
+        assertEquals("p1", order.items.get(0).name);
+    }
+
+    /**
+     * 复制器按计划和class对解析一次，之后每个对象直接复用
+     */
+    @Test
+    public void copierIsResolvedOncePerClassPair() {
+        CopyPlan plan = CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), Collections.singletonMap("Product_brand", "Item_brandName"), null);
+        Order order = order(1, 2, 3);
+
+        plan.apply(products(), order);
+
+        assertSame(plan.copier(Product.class, Item.class), plan.copier(Product.class, Item.class));
+        assertNotSame(plan.copier(Product.class, Item.class), plan.copier(Product.class, Product.class));
+        assertEquals("b3", order.items.get(2).brandName);
+    }
+
+    @Test
+    public void filterRemovesTargetsBeforeCopying() {
+        Order order = order(1, 2, 3);
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", Arrays.<Object>asList(1L, 3L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Item", keyMap);
+
+        CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, filterMap).apply(products(), order);
+
+        assertEquals(2, order.items.size());
+        assertEquals("p1", order.items.get(0).name);
+        assertEquals("p3", order.items.get(1).name);
+    }
+
+    @Test
+    public void planIsNotAffectedByLaterChangesToItsMaps() {
+        Map<String, String> compareMap = new HashMap<>();
+        compareMap.put("Product_id", "Item_productId");
+        Map<String, String> valueMap = new HashMap<>();
+        valueMap.put("Product_brand", "Item_brandName");
+        CopyPlan plan = CopyPlan.compile(compareMap, valueMap, null);
+        compareMap.clear();
+        compareMap.put("Product_price", "Item_productId");
+        valueMap.clear();
+        Order order = order(2);
+
+        plan.apply(products(), order);
+
+        assertEquals("p2", order.items.get(0).name);
+        assertEquals("b2", order.items.get(0).brandName);
+    }
+
+    @Test
+    public void copyValueMatchesThePlan() {
+        Order order = order(3);
+
+        ReflectUtil.copyValue(products(), order, Collections.singletonMap("Product_id", "Item_productId"));
+
+        assertEquals("p3", order.items.get(0).name);
+        assertEquals(Long.valueOf(30), order.items.get(0).price);
+    }
+
+    private static List<Item> items(long... productIds) {
+        return order(productIds).items;
+    }
+
+    @Test
+    public void copyValuesJoinsManySourcesWithManyTargets() {
+        List<Item> items = items(3, 1, 5, 3);
+
+        ReflectUtil.copyValues(products(), items, Collections.singletonMap("Product_id", "Item_productId"), null, CopyPlan.DuplicatePolicy.FIRST);
+
+        assertEquals("p3", items.get(0).name);
+        assertEquals("p1", items.get(1).name);
+        assertNull(items.get(2).name);
+        assertEquals("p3", items.get(3).name);
+    }
+
+    @Test
+    public void duplicateSourcesFollowThePolicy() {
+        List<Product> products = products();
+        products.add(new Product(2, "p2-last", 21));
+        CopyPlan plan = CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, null);
+
+        List<Item> first = items(2);
+        plan.applyAll(products, first, CopyPlan.DuplicatePolicy.FIRST);
+        assertEquals("p2", first.get(0).name);
+
+        List<Item> last = items(2);
+        plan.applyAll(products, last, CopyPlan.DuplicatePolicy.LAST);
+        assertEquals("p2-last", last.get(0).name);
+
+        //校验在赋值之前，抛出异常时没有目标对象被修改
+        List<Item> error = items(1, 2);
+        try {
+            plan.applyAll(products, error, CopyPlan.DuplicatePolicy.ERROR);
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertNull(error.get(0).name);
+            assertNull(error.get(1).name);
+        }
+    }
+
+    /**
+     * 源对象较多时为目标对象建立索引，目标对象较多时为源对象建立索引，两个方向结果一致
+     */
+    @Test
+    public void bothJoinDirectionsFollowThePolicy() {
+        List<Product> products = products();
+        products.add(new Product(2, "p2-last", 21));
+        CopyPlan plan = CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, null);
+
+        for (long[] productIds : new long[][]{{2, 3, 2}, {2, 3, 5, 1, 2, 2}}) {
+            List<Item> first = items(productIds);
+            plan.applyAll(products, first, CopyPlan.DuplicatePolicy.FIRST);
+            assertEquals("p2", first.get(0).name);
+            assertEquals("p3", first.get(1).name);
+
+            List<Item> last = items(productIds);
+            plan.applyAll(products, last, CopyPlan.DuplicatePolicy.LAST);
+            assertEquals("p2-last", last.get(0).name);
+            assertEquals("p2-last", last.get(productIds.length - 1).name);
+
+            List<Item> error = items(productIds);
+            try {
+                plan.applyAll(products, error, CopyPlan.DuplicatePolicy.ERROR);
+                fail("expected IllegalStateException");
+            } catch (IllegalStateException e) {
+                for (Item item : error) {
+                    assertNull(item.name);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void duplicatesOutsideTheTargetsAreIgnored() {
+        List<Product> products = products();
+        products.add(new Product(2, "p2-last", 21));
+        List<Item> items = items(1, 3);
+
+        CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, null).applyAll(products, items, CopyPlan.DuplicatePolicy.ERROR);
+
+        assertEquals("p1", items.get(0).name);
+        assertEquals("p3", items.get(1).name);
+    }
+}
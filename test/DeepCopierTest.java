@@ -0,0 +1,209 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:deepCopy以及带过滤条件的deepCopy
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class DeepCopierTest {
+
+    static class Tag implements Comparable<Tag> {
+        Long code;
+        String name;
+
+        Tag() {
+        }
+
+        Tag(long code, String name) {
+            this.code = code;
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(Tag o) {
+            return code.compareTo(o.code);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tag && Objects.equals(code, ((Tag) o).code) && Objects.equals(name, ((Tag) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(code, name);
+        }
+    }
+
+    static class Item {
+        Long productId;
+        int quantity;
+        Item parent;
+    }
+
+    static class Holder {
+        String name;
+        List<Item> items;
+        Item main;
+        Set<Tag> hashTags;
+        Set<Tag> linkedTags;
+        Set<Tag> sortedTags;
+    }
+
+    /**
+     * tag先于两个Set创建，在Set之后才填充
+     */
+    static class Shared {
+        Tag tag;
+        Set<Tag> hashTags;
+        TreeSet<Tag> sortedTags;
+    }
+
+    private static List<Tag> tags(int n) {
+        List<Tag> tags = new ArrayList<>();
+        for (int i = n; i > 0; i--) {
+            tags.add(new Tag(i, "tag" + i));
+        }
+        return tags;
+    }
+
+    private static Item item(long productId, int quantity) {
+        Item item = new Item();
+        item.productId = productId;
+        item.quantity = quantity;
+        return item;
+    }
+
+    @Test
+    public void copiesFieldsAndKeepsSharedAndCyclicReferences() {
+        Holder holder = new Holder();
+        holder.name = "h";
+        Item a = item(1, 2);
+        Item b = item(2, 3);
+        b.parent = a;
+        a.parent = b;
+        holder.items = new ArrayList<>(Arrays.asList(a, b));
+        holder.main = a;
+
+        Holder copy = ReflectUtil.deepCopy(holder);
+
+        assertNotSame(holder, copy);
+        assertEquals("h", copy.name);
+        assertEquals(2, copy.items.size());
+        Item ca = copy.items.get(0);
+        Item cb = copy.items.get(1);
+        assertNotSame(a, ca);
+        assertEquals(Long.valueOf(1), ca.productId);
+        assertEquals(3, cb.quantity);
+        assertSame(ca, copy.main);
+        assertSame(ca, cb.parent);
+        assertSame(cb, ca.parent);
+    }
+
+    /**
+     * 元素在字段填充前就放入HashSet时，所有元素的hashCode相同且相等，只剩一个
+     */
+    @Test
+    public void hashSetElementsAreAddedAfterTheyAreFilled() {
+        Holder holder = new Holder();
+        holder.hashTags = new HashSet<>(tags(20));
+        holder.linkedTags = new LinkedHashSet<>(tags(20));
+
+        Holder copy = ReflectUtil.deepCopy(holder);
+
+        assertEquals(20, copy.hashTags.size());
+        assertEquals(holder.hashTags, copy.hashTags);
+        for (Tag tag : holder.hashTags) {
+            assertTrue(copy.hashTags.contains(tag));
+        }
+        assertEquals(new ArrayList<>(holder.linkedTags), new ArrayList<>(copy.linkedTags));
+        assertNotSame(holder.linkedTags.iterator().next(), copy.linkedTags.iterator().next());
+    }
+
+    /**
+     * 元素在字段填充前就放入TreeSet时，compareTo读到null的code
+     */
+    @Test
+    public void sortedSetElementsAreComparedAfterTheyAreFilled() {
+        Holder holder = new Holder();
+        holder.sortedTags = new TreeSet<>(tags(20));
+
+        Holder copy = ReflectUtil.deepCopy(holder);
+
+        assertTrue(copy.sortedTags instanceof TreeSet);
+        assertEquals(20, copy.sortedTags.size());
+        assertEquals(new ArrayList<>(holder.sortedTags), new ArrayList<>(copy.sortedTags));
+    }
+
+    /**
+     * Set出栈时共享的元素还没有填充，所有对象填充完成后才加入
+     */
+    @Test
+    public void sharedElementsAreAddedAfterEveryObjectIsFilled() {
+        Shared shared = new Shared();
+        shared.tag = new Tag(1, "tag1");
+        List<Tag> tags = Arrays.asList(shared.tag, new Tag(2, "tag2"));
+        shared.hashTags = new HashSet<>(tags);
+        shared.sortedTags = new TreeSet<>(tags);
+
+        Shared copy = ReflectUtil.deepCopy(shared);
+
+        assertNotSame(shared.tag, copy.tag);
+        assertEquals(shared.hashTags, copy.hashTags);
+        assertTrue(copy.hashTags.contains(copy.tag));
+        assertEquals(2, copy.sortedTags.size());
+        assertSame(copy.tag, copy.sortedTags.first());
+    }
+
+    @Test
+    public void filterDropsRejectedObjectsWithoutTouchingTheSource() {
+        Holder holder = new Holder();
+        holder.items = new ArrayList<>(Arrays.asList(item(1, 1), item(2, 1), item(3, 1)));
+        holder.main = holder.items.get(1);
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", Arrays.<Object>asList(1L, 3L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Item", keyMap);
+
+        Holder copy = ReflectUtil.deepCopy(holder, filterMap);
+
+        assertEquals(2, copy.items.size());
+        assertEquals(Long.valueOf(1), copy.items.get(0).productId);
+        assertEquals(Long.valueOf(3), copy.items.get(1).productId);
+        assertNull(copy.main);
+        assertEquals(3, holder.items.size());
+        assertSame(holder.items.get(1), holder.main);
+    }
+
+    @Test
+    public void rejectedRootCopiesToNull() {
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", Arrays.<Object>asList(1L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Item", keyMap);
+
+        assertNull(ReflectUtil.deepCopy(item(2, 1), filterMap));
+    }
+}
@@ -0,0 +1,153 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:字段读写器：基础类型不装箱读写，异常与Field.get/set保持一致
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class FieldAccessorTest {
+
+    static class Values {
+        static final String CONSTANT = "c";
+        static String shared;
+        int i;
+        long l;
+        double d;
+        float f;
+        boolean z;
+        byte b;
+        short s;
+        char c;
+        String text;
+        final Long fixed = 1L;
+    }
+
+    static class Other {
+        int i;
+    }
+
+    private static FieldAccessor accessor(String name) throws NoSuchFieldException {
+        Field field = Values.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return new FieldAccessor(field);
+    }
+
+    @Test
+    public void primitivesAreReadAndWrittenUnboxed() throws Exception {
+        Values values = new Values();
+
+        accessor("i").setInt(values, 1);
+        accessor("l").setLong(values, 2L);
+        accessor("d").setDouble(values, 3.5);
+        accessor("f").setFloat(values, 4.5f);
+        accessor("z").setBoolean(values, true);
+        accessor("b").setByte(values, (byte) 6);
+        accessor("s").setShort(values, (short) 7);
+        accessor("c").setChar(values, 'x');
+
+        assertEquals(1, accessor("i").getInt(values));
+        assertEquals(2L, accessor("l").getLong(values));
+        assertEquals(3.5, accessor("d").getDouble(values), 0);
+        assertEquals(4.5f, accessor("f").getFloat(values), 0);
+        assertTrue(accessor("z").getBoolean(values));
+        assertEquals(6, accessor("b").getByte(values));
+        assertEquals(7, accessor("s").getShort(values));
+        assertEquals('x', accessor("c").getChar(values));
+        assertTrue(accessor("i").isPrimitive());
+        assertFalse(accessor("text").isPrimitive());
+    }
+
+    @Test
+    public void boxedAccessMatchesField() throws Exception {
+        Values values = new Values();
+
+        accessor("i").set(values, 5);
+        accessor("text").set(values, "t");
+
+        assertEquals(5, accessor("i").get(values));
+        assertEquals("t", accessor("text").get(values));
+        Field field = Values.class.getDeclaredField("i");
+        field.setAccessible(true);
+        assertEquals(field.get(values), accessor("i").get(values));
+    }
+
+    @Test
+    public void copyTransfersEveryKind() throws Exception {
+        Values src = new Values();
+        src.i = 1;
+        src.l = 2;
+        src.d = 3;
+        src.f = 4;
+        src.z = true;
+        src.b = 6;
+        src.s = 7;
+        src.c = 'y';
+        src.text = "t";
+        Values target = new Values();
+
+        for (String name : new String[]{"i", "l", "d", "f", "z", "b", "s", "c", "text"}) {
+            FieldAccessor accessor = accessor(name);
+            accessor.copy(src, accessor, target);
+        }
+
+        assertEquals(1, target.i);
+        assertEquals(2, target.l);
+        assertEquals(3, target.d, 0);
+        assertEquals(4, target.f, 0);
+        assertTrue(target.z);
+        assertEquals(6, target.b);
+        assertEquals(7, target.s);
+        assertEquals('y', target.c);
+        assertEquals("t", target.text);
+    }
+
+    @Test
+    public void staticFieldsIgnoreTheObject() throws Exception {
+        accessor("shared").set(null, "s");
+
+        assertEquals("s", Values.shared);
+        assertEquals("s", accessor("shared").get(new Values()));
+    }
+
+    @Test
+    public void staticFinalFieldsAreNotWritable() throws Exception {
+        FieldAccessor constant = accessor("CONSTANT");
+
+        assertFalse(constant.isWritable());
+        assertTrue(accessor("fixed").isWritable());
+        try {
+            constant.set(null, "d");
+            fail("expected IllegalAccessException");
+        } catch (IllegalAccessException e) {
+            assertEquals("c", Values.CONSTANT);
+        }
+    }
+
+    @Test
+    public void mismatchedTypesThrowIllegalArgumentException() throws Exception {
+        try {
+            accessor("i").get(new Other());
+            fail("expected IllegalArgumentException for the owner");
+        } catch (IllegalArgumentException e) {
+            //与Field.get一致
+        }
+        try {
+            accessor("text").set(new Values(), 1L);
+            fail("expected IllegalArgumentException for the value");
+        } catch (IllegalArgumentException e) {
+            //与Field.set一致
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:字段路径取值和过滤：按字段实际所在的class解析，同名class不会混在一起，只访问路径上的对象
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class FieldPathTest {
+
+    static class Sales {
+        static class Item {
+            String skuCode;
+            Long productId;
+            String name;
+            List<Tag> tags = new ArrayList<>();
+        }
+    }
+
+    static class Stock {
+        static class Item {
+            String skuCode;
+            String name;
+        }
+    }
+
+    static class BaseProduct {
+        Long id;
+        String title;
+    }
+
+    static class Product extends BaseProduct {
+        Product(long id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+    }
+
+    static class Catalog {
+        List<BaseProduct> products = new ArrayList<>();
+        Stock.Item stock;
+    }
+
+    static class Tag {
+        String name;
+    }
+
+    static class Order {
+        List<Sales.Item> items = new LinkedList<>();
+        Stock.Item stock;
+        @SuppressWarnings("rawtypes")
+        List raw;
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        for (int i = 0; i < 4; i++) {
+            Sales.Item item = new Sales.Item();
+            item.skuCode = "s" + i;
+            item.productId = (long) i;
+            for (int j = 0; j <= i; j++) {
+                Tag tag = new Tag();
+                tag.name = "t" + j;
+                item.tags.add(tag);
+            }
+            order.items.add(item);
+        }
+        order.stock = new Stock.Item();
+        order.stock.skuCode = "stock";
+        return order;
+    }
+
+    private static Set<Object> set(Object... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    private static Map<String, List<Object>> pathMap(String path, Object... allowed) {
+        Map<String, List<Object>> pathMap = new HashMap<>();
+        pathMap.put(path, Arrays.asList(allowed));
+        return pathMap;
+    }
+
+    @Test
+    public void pathsOnlyReadTheirOwnClass() {
+        Order order = order();
+
+        assertEquals(set("s0", "s1", "s2", "s3"), new HashSet<>(ReflectUtil.getValueList(order, FieldPath.compile(Order.class, "items[*].skuCode"))));
+        assertEquals(Collections.<Object>singletonList("stock"), ReflectUtil.getValueList(order, FieldPath.compile(Order.class, "stock.skuCode")));
+        //按 类名_字段名 取值时两个Item混在一起
+        assertEquals(5, ReflectUtil.getValueList(order, Order.class, "Item_skuCode").size());
+    }
+
+    @Test
+    public void nestedListsAndListRoots() {
+        Order order = order();
+
+        assertEquals(set("t0", "t1", "t2", "t3"), new HashSet<>(ReflectUtil.getValueList(order, FieldPath.compile(Order.class, "items[*].tags[*].name"))));
+        assertEquals(set(0L, 1L, 2L, 3L), new HashSet<>(ReflectUtil.getValueList(order.items, FieldPath.compile(Sales.Item.class, "[*].productId"))));
+    }
+
+    @Test
+    public void compileRejectsBadPaths() {
+        for (String expression : Arrays.asList("items[*].missing", "items[0].skuCode", "items..skuCode", "raw[*].skuCode", "items[*]")) {
+            try {
+                FieldPath.compile(Order.class, expression);
+                fail("expected IllegalArgumentException for " + expression);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains(expression));
+            }
+        }
+    }
+
+    /**
+     * 值路径的字段在父类中声明，源对象是子类；Sales.Item和Stock.Item同名，值路径只作用于Sales.Item
+     */
+    @Test
+    public void valuePathsCopyByFieldForSubclassesAndSameNamedClasses() {
+        Catalog catalog = new Catalog();
+        catalog.products.add(new Product(1, "t1"));
+        catalog.stock = new Stock.Item();
+        catalog.stock.skuCode = "stock";
+        catalog.stock.name = "warehouse";
+        Map<String, String> comparePaths = new HashMap<>();
+        comparePaths.put("products[*].id", "items[*].productId");
+        comparePaths.put("stock.skuCode", "stock.skuCode");
+        Order order = order();
+
+        CopyPlan.compile(Catalog.class, Order.class, comparePaths, Collections.singletonMap("products[*].title", "items[*].name"), null)
+                .apply(catalog, order);
+
+        assertEquals("t1", order.items.get(1).name);
+        assertNull(order.items.get(0).name);
+        //同名字段照常复制，不受Sales.Item上值路径的影响
+        assertEquals("warehouse", order.stock.name);
+    }
+
+    @Test
+    public void pathFilterRemovesOnlyAlongThePath() {
+        Order order = order();
+
+        assertSame(order, ReflectUtil.removeObject(order, PathFilter.compile(Order.class, pathMap("items[*].productId", 1L, 3L))));
+
+        assertEquals(2, order.items.size());
+        assertEquals("s1", order.items.get(0).skuCode);
+        assertEquals("s3", order.items.get(1).skuCode);
+        assertEquals("stock", order.stock.skuCode);
+    }
+
+    /**
+     * Arrays.asList可以set但不能删除，在修改之前抛出UnsupportedOperationException
+     */
+    @Test
+    public void pathFilterDoesNotCorruptFixedSizeLists() {
+        Order order = order();
+        List<Sales.Item> items = Arrays.asList(order.items.toArray(new Sales.Item[0]));
+        order.items = items;
+        List<Sales.Item> before = new ArrayList<>(items);
+
+        try {
+            ReflectUtil.removeObject(order, PathFilter.compile(Order.class, pathMap("items[*].productId", 1L, 3L)));
+            fail("expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(before, items);
+        }
+    }
+
+    @Test
+    public void pathFilterClearsSingleObjectsAndRejectsTheRoot() {
+        Order order = order();
+
+        ReflectUtil.removeObject(order, PathFilter.compile(Order.class, pathMap("stock.skuCode", "other")));
+        assertNull(order.stock);
+        assertEquals(4, order.items.size());
+
+        assertNull(ReflectUtil.removeObject(order.items.get(0), PathFilter.compile(Sales.Item.class, pathMap("skuCode", "other"))));
+    }
+
+    @Test
+    public void pathFilterAllowsLongHashSets() {
+        Order order = order();
+
+        ReflectUtil.removeObject(order, PathFilter.compile(Order.class, null).allow("items[*].productId", LongHashSet.of(0, 2)));
+
+        assertEquals(2, order.items.size());
+        assertEquals(Long.valueOf(2), order.items.get(1).productId);
+    }
+}
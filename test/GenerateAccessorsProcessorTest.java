@@ -0,0 +1,147 @@
+package com.coocaa.lite.os.common.utils;
+
+import com.coocaa.lite.os.common.utils.ClassInfo.FieldInfo;
+import com.coocaa.lite.os.common.utils.processor.GenerateAccessorsProcessor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:编译测试时GenerateAccessorsProcessor为Dto生成读写器，private字段不生成，仍然按字段反射读写，不经过getter/setter
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class GenerateAccessorsProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @GenerateAccessors
+    static class Dto {
+        Long id;
+        int count;
+        String name;
+        private String secret;
+        static String shared;
+
+        String getSecret() {
+            return "masked";
+        }
+
+        void setSecret(String secret) {
+            this.secret = secret + "!";
+        }
+    }
+
+    private static GeneratedAccessor generated() throws Exception {
+        Class<?> cls = Class.forName(Dto.class.getName() + GeneratedAccessor.SUFFIX);
+        return (GeneratedAccessor) cls.getConstructor().newInstance();
+    }
+
+    @Test
+    public void generatesDirectAccessForNonPrivateFieldsOnly() throws Exception {
+        GeneratedAccessor accessor = generated();
+
+        assertEquals(Dto.class, accessor.type());
+        assertArrayEquals(new String[]{"id", "count", "name"}, accessor.fieldNames());
+
+        Dto dto = new Dto();
+        accessor.set(0, dto, 5L);
+        accessor.setInt(1, dto, 3);
+        accessor.set(2, dto, "n");
+        assertEquals(Long.valueOf(5), dto.id);
+        assertEquals(3, accessor.getInt(1, dto));
+        assertEquals("n", accessor.get(2, dto));
+    }
+
+    @Test
+    public void classInfoUsesTheGeneratedAccessor() {
+        for (FieldInfo f : ClassInfo.of(Dto.class).fields) {
+            boolean generated = !f.isStatic && !"secret".equals(f.name);
+            assertEquals(f.name, generated, f.accessor.isGenerated());
+        }
+        Dto dto = new Dto();
+        dto.count = 2;
+        dto.name = "n";
+
+        Dto copy = ReflectUtil.deepCopy(dto);
+
+        assertEquals(2, copy.count);
+        assertEquals("n", copy.name);
+        assertEquals(Collections.<Object>singletonList(2), ReflectUtil.getValueList(copy, Dto.class, "Dto_count"));
+    }
+
+    /**
+     * 字段全部为private时不生成空的读写器，编译时给出警告
+     */
+    @Test
+    public void classesWithoutGeneratedFieldsAreReported() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///test/PrivateDto.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return "package test;\n"
+                        + "@com.coocaa.lite.os.common.utils.GenerateAccessors\n"
+                        + "public class PrivateDto { private Long id; private String name; }\n";
+            }
+        };
+        String classes = new File(GenerateAccessors.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        List<String> options = Arrays.asList("-proc:only", "-classpath", classes, "-s", folder.getRoot().getPath());
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Collections.singletonList(source));
+        task.setProcessors(Collections.singletonList(new GenerateAccessorsProcessor()));
+
+        assertTrue(task.call());
+        boolean warned = false;
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            warned |= diagnostic.getKind() == Diagnostic.Kind.WARNING && diagnostic.getMessage(null).contains("test.PrivateDto");
+        }
+        assertTrue(diagnostics.getDiagnostics().toString(), warned);
+        assertFalse(new File(folder.getRoot(), "test/PrivateDto$$Accessor.java").exists());
+    }
+
+    @Test
+    public void privateFieldsBypassGettersAndSetters() {
+        Dto dto = new Dto();
+        dto.id = 1L;
+        dto.secret = "s";
+
+        assertEquals(Collections.<Object>singletonList("s"), ReflectUtil.getValueList(dto, Dto.class, "Dto_secret"));
+
+        Dto copy = ReflectUtil.deepCopy(dto);
+        assertEquals("s", copy.secret);
+        assertEquals(Long.valueOf(1), copy.id);
+    }
+
+    @Test
+    public void unknownIndexIsRejected() throws Exception {
+        GeneratedAccessor accessor = generated();
+        try {
+            accessor.getLong(0, new Dto());
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(Dto.class.getName()));
+            return;
+        }
+        throw new AssertionError("expected IllegalArgumentException for " + Arrays.toString(accessor.fieldNames()));
+    }
+}
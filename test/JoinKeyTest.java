@@ -0,0 +1,109 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:比对key按比对字段序号和原始值比较，不再拼成字符串，值的类型不同或者拼接后相同的值不会关联到一起
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class JoinKeyTest {
+
+    static class Product {
+        Long id;
+        String code;
+        String name;
+    }
+
+    static class Sku {
+        Long skuId;
+        String name;
+    }
+
+    static class Item {
+        Long productId;
+        Integer legacyId;
+        String productCode;
+        String name;
+    }
+
+    private static Product product(long id, String code, String name) {
+        Product product = new Product();
+        product.id = id;
+        product.code = code;
+        product.name = name;
+        return product;
+    }
+
+    @Test
+    public void keysCompareSlotAndRawValue() {
+        assertEquals(new JoinKey(0, 1L), new JoinKey(0, 1L));
+        assertEquals(new JoinKey(0, 1L).hashCode(), new JoinKey(0, 1L).hashCode());
+        assertNotEquals(new JoinKey(0, 1L), new JoinKey(1, 1L));
+        assertNotEquals(new JoinKey(0, 1L), new JoinKey(0, 1));
+        assertNotEquals(new JoinKey(0, 1L), new JoinKey(0, "1"));
+    }
+
+    @Test
+    public void valuesOfDifferentTypesDoNotJoin() {
+        Item item = new Item();
+        item.legacyId = 1;
+
+        ReflectUtil.copyValue(Collections.singletonList(product(1, "c", "p1")), item, Collections.singletonMap("Product_id", "Item_legacyId"));
+
+        assertNull(item.name);
+    }
+
+    /**
+     * 每个比对字段一个序号，code为"1"只与code关联，不会与id为1的源对象关联
+     */
+    @Test
+    public void slotsKeepCompareFieldsApart() {
+        Map<String, String> compareMap = new HashMap<>();
+        compareMap.put("Product_id", "Item_productId");
+        compareMap.put("Product_code", "Item_productCode");
+        Item byCode = new Item();
+        byCode.productCode = "1";
+        Item byId = new Item();
+        byId.productId = 2L;
+
+        CopyPlan.compile(compareMap, null, null).applyAll(Arrays.asList(product(1, "x", "p1"), product(2, "1", "p2")),
+                Arrays.asList(byCode, byId), CopyPlan.DuplicatePolicy.ERROR);
+
+        assertEquals("p2", byCode.name);
+        assertEquals("p2", byId.name);
+    }
+
+    /**
+     * 多个源字段指向同一个目标字段时共用一个序号，不同源class的值都可以关联
+     */
+    @Test
+    public void sourcesOfTheSameTargetShareASlot() {
+        Map<String, String> compareMap = new HashMap<>();
+        compareMap.put("Product_id", "Item_productId");
+        compareMap.put("Sku_skuId", "Item_productId");
+        Sku sku = new Sku();
+        sku.skuId = 7L;
+        sku.name = "sku7";
+        Item item = new Item();
+        item.productId = 7L;
+        List<Object> sources = Arrays.<Object>asList(product(1, "c", "p1"), sku);
+
+        CopyPlan.compile(compareMap, null, null).apply(sources, item);
+
+        assertEquals("sku7", item.name);
+    }
+}
@@ -0,0 +1,115 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:LongHashSet以及getLongSet
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class LongHashSetTest {
+
+    static class Item {
+        Long productId;
+        int quantity;
+        String skuCode;
+    }
+
+    static class Order {
+        long orderId;
+        List<Item> items;
+    }
+
+    private static Set<Long> boxed(LongHashSet set) {
+        Set<Long> values = new HashSet<>();
+        for (long value : set.toArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Test
+    public void addsAndGrowsPastInitialCapacity() {
+        LongHashSet set = new LongHashSet(2);
+        Set<Long> expected = new HashSet<>();
+        for (long i = -5000; i < 5000; i += 3) {
+            assertTrue(set.add(i * 7919));
+            expected.add(i * 7919);
+        }
+        assertFalse(set.add(-5000 * 7919L));
+
+        assertEquals(expected.size(), set.size());
+        assertEquals(expected, boxed(set));
+        assertTrue(set.contains(-4997L * 7919));
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void zeroIsKeptApartFromEmptySlots() {
+        LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+
+        assertEquals(1, set.size());
+        assertTrue(set.contains(0));
+        assertEquals("[0]", set.toString());
+    }
+
+    @Test
+    public void equalsIgnoresOrderAndCapacity() {
+        LongHashSet a = LongHashSet.of(3, 0, 1L << 40, -7);
+        LongHashSet b = new LongHashSet(1000);
+        b.add(-7);
+        b.add(1L << 40);
+        b.add(0);
+        b.add(3);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(new HashSet<>(Arrays.asList(3L, 0L, 1L << 40, -7L)).hashCode(), a.hashCode());
+        assertEquals(a, a.copy());
+
+        b.add(4);
+        assertNotEquals(a, b);
+        assertNotEquals(a, LongHashSet.of(3, 1L << 40, -7, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expectedSizeIsBounded() {
+        new LongHashSet(LongHashSet.MAX_SIZE + 1);
+    }
+
+    @Test
+    public void getLongSetCollectsDistinctIntegerFields() {
+        Order order = new Order();
+        order.orderId = 9;
+        order.items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = new Item();
+            item.productId = i % 3 == 0 ? null : (long) (i % 4);
+            item.quantity = i;
+            item.skuCode = "s" + i;
+            order.items.add(item);
+        }
+
+        assertEquals(LongHashSet.of(0, 1, 2, 3), ReflectUtil.getLongSet(order, Order.class, "Item_productId"));
+        assertEquals(10, ReflectUtil.getLongSet(order, Order.class, "Item_quantity").size());
+        assertEquals(LongHashSet.of(9), ReflectUtil.getLongSet(order, Order.class, "Order_orderId"));
+        assertTrue(ReflectUtil.getLongSet(order, Order.class, "Item_skuCode").isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:Map<String, Object>作为节点：classKey对应的值为类名，key与对象字段一样参与取值、过滤和赋值
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class MapNodesTest {
+
+    private static final TraverseOptions MAP_NODES = TraverseOptions.DEFAULT.mapNodes("class");
+
+    static class Product {
+        Long id;
+        String name;
+        Long price;
+    }
+
+    static class Item {
+        Long productId;
+        String name;
+        Long price;
+    }
+
+    private static Map<String, Object> node(String className, Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("class", className);
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    /**
+     * JSON解码出来的订单：Order -> items -> Item
+     */
+    private static Map<String, Object> order(long... productIds) {
+        List<Object> items = new ArrayList<>();
+        for (long productId : productIds) {
+            items.add(node("Item", "productId", productId, "quantity", 1));
+        }
+        return node("Order", "orderId", 7L, "items", items);
+    }
+
+    private static Product product(long id, String name, long price) {
+        Product product = new Product();
+        product.id = id;
+        product.name = name;
+        product.price = price;
+        return product;
+    }
+
+    @Test
+    public void mapKeysAreReadLikeFields() {
+        Map<String, Object> order = order(1, 2, 2, 3);
+
+        assertEquals(new HashSet<Object>(Arrays.asList(1L, 2L, 3L)), new HashSet<>(ReflectUtil.getValueList(order, order.getClass(), "Item_productId", MAP_NODES)));
+        assertEquals(Collections.<Object>singletonList(7L), ReflectUtil.getValueList(order, order.getClass(), "Order_orderId", MAP_NODES));
+    }
+
+    @Test
+    public void mapsAreNotNodesByDefault() {
+        Map<String, Object> order = order(1, 2);
+
+        assertTrue(ReflectUtil.getValueList(order, order.getClass(), "Item_productId").isEmpty());
+        Map<String, Object> noClass = new HashMap<>(order);
+        noClass.remove("class");
+        assertTrue(ReflectUtil.getValueList(noClass, noClass.getClass(), "Order_orderId", MAP_NODES).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void mapNodesAreFiltered() {
+        Map<String, Object> order = order(1, 2, 3, 2);
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", Arrays.<Object>asList(2L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Item", keyMap);
+
+        ReflectUtil.removeObject(order, RemoveFilter.compile(filterMap), MAP_NODES);
+
+        List<Object> items = (List<Object>) order.get("items");
+        assertEquals(2, items.size());
+        for (Object item : items) {
+            assertEquals(2L, ((Map<String, Object>) item).get("productId"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void objectsAreCopiedIntoMapNodes() {
+        Map<String, Object> order = order(1, 2);
+        CopyPlan plan = CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), Collections.singletonMap("Product_price", "Item_amount"),
+                null, MAP_NODES);
+
+        plan.apply(Arrays.asList(product(1, "p1", 10), product(3, "p3", 30)), order);
+
+        Map<String, Object> first = (Map<String, Object>) ((List<Object>) order.get("items")).get(0);
+        Map<String, Object> second = (Map<String, Object>) ((List<Object>) order.get("items")).get(1);
+        assertEquals("p1", first.get("name"));
+        assertEquals(10L, first.get("amount"));
+        assertEquals("Item", first.get("class"));
+        assertFalse(second.containsKey("name"));
+    }
+
+    @Test
+    public void mapNodesAreCopiedIntoObjectsOfTheSameType() {
+        Map<String, Object> src = node("Product", "id", 1L, "name", "p1", "price", 10);
+        Item item = new Item();
+        item.productId = 1L;
+
+        CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, null, MAP_NODES)
+                .apply(Collections.singletonList(src), Collections.singletonList(item));
+
+        assertEquals("p1", item.name);
+        //Integer的值与Long字段类型不一致，不复制
+        assertNull(item.price);
+    }
+}
@@ -0,0 +1,114 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:字段复制器：valueMap改名、按valueMap内容缓存以及缓存上限
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class ObjectCopierTest {
+
+    static class Src {
+        Long id;
+        String name;
+        String title;
+        int count;
+    }
+
+    static class Target {
+        Long id;
+        String name;
+        String label;
+        long count;
+    }
+
+    private static Src src() {
+        Src src = new Src();
+        src.id = 1L;
+        src.name = "n";
+        src.title = "t";
+        src.count = 3;
+        return src;
+    }
+
+    @Test
+    public void copiesSameNamedFieldsOfTheSameType() {
+        Target target = new Target();
+
+        ObjectCopier.of(Src.class, Target.class, null).copy(src(), target);
+
+        assertEquals(Long.valueOf(1), target.id);
+        assertEquals("n", target.name);
+        assertNull(target.label);
+        assertEquals(0, target.count);
+    }
+
+    @Test
+    public void valueMapRenamesFields() {
+        Target target = new Target();
+
+        ObjectCopier.of(Src.class, Target.class, Collections.singletonMap("Src_title", "Target_label")).copy(src(), target);
+
+        assertEquals("t", target.label);
+        assertEquals("n", target.name);
+    }
+
+    /**
+     * Src_name指向了Target_label，同名的Target_name不再赋值
+     */
+    @Test
+    public void redirectedFieldsAreNotCopiedByName() {
+        Target target = new Target();
+
+        ObjectCopier.of(Src.class, Target.class, Collections.singletonMap("Src_name", "Target_label")).copy(src(), target);
+
+        assertEquals("n", target.label);
+        assertNull(target.name);
+    }
+
+    @Test
+    public void copiersAreCachedByValueMapContent() {
+        Map<String, String> valueMap = new HashMap<>();
+        valueMap.put("Src_title", "Target_label");
+        ObjectCopier copier = ObjectCopier.of(Src.class, Target.class, valueMap);
+
+        assertSame(copier, ObjectCopier.of(Src.class, Target.class, new HashMap<>(valueMap)));
+
+        //修改调用方的valueMap不影响已缓存的复制器
+        valueMap.put("Src_name", "Target_label");
+        Target target = new Target();
+        ObjectCopier.of(Src.class, Target.class, Collections.singletonMap("Src_title", "Target_label")).copy(src(), target);
+        assertEquals("t", target.label);
+        assertEquals("n", target.name);
+    }
+
+    /**
+     * 每次拼出不同的valueMap时，最早的复制器被淘汰
+     */
+    @Test
+    public void cachePerClassPairIsBounded() {
+        Map<String, String> valueMap = Collections.singletonMap("Target_label", "Src_title");
+        ObjectCopier first = ObjectCopier.of(Target.class, Src.class, valueMap);
+        for (int i = 0; i < 1000; i++) {
+            Map<String, String> other = new HashMap<>();
+            other.put("Target_label", "Src_title");
+            other.put("Target_x" + i, "Src_name");
+            ObjectCopier.of(Target.class, Src.class, other);
+        }
+
+        assertNotSame(first, ObjectCopier.of(Target.class, Src.class, valueMap));
+    }
+}
@@ -0,0 +1,136 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:并行遍历的结果与顺序遍历一致，包括多个元素共用同一个对象的情况
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class ParallelTraversalTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static final TraverseOptions PARALLEL = TraverseOptions.DEFAULT.parallel(16, POOL);
+
+    static class Sku {
+        Long skuId;
+    }
+
+    static class Shop {
+        Long shopId;
+        List<Sku> skus;
+    }
+
+    static class Item {
+        Long productId;
+        Shop shop;
+    }
+
+    static class Order {
+        List<Item> items;
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    /**
+     * 每10个item共用一个shop，每个shop下面3个sku
+     */
+    private static Order order(int size) {
+        Order order = new Order();
+        order.items = new ArrayList<>();
+        Shop shop = null;
+        for (int i = 0; i < size; i++) {
+            if (i % 10 == 0) {
+                shop = new Shop();
+                shop.shopId = (long) i / 10;
+                shop.skus = new ArrayList<>();
+                for (int j = 0; j < 3; j++) {
+                    Sku sku = new Sku();
+                    sku.skuId = (long) j;
+                    shop.skus.add(sku);
+                }
+            }
+            Item item = new Item();
+            item.productId = (long) i;
+            item.shop = shop;
+            order.items.add(item);
+        }
+        return order;
+    }
+
+    private static Map<String, Map<String, List<Object>>> filterMap(String className, String field, Object... keep) {
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put(field, Arrays.asList(keep));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put(className, keyMap);
+        return filterMap;
+    }
+
+    @Test
+    public void getValueListKeepsSequentialOrder() {
+        Order order = order(1000);
+
+        List<Object> sequential = ReflectUtil.getValueList(order, Order.class, "Item_productId");
+        List<Object> parallel = ReflectUtil.getValueList(order, Order.class, "Item_productId", PARALLEL);
+
+        assertEquals(1000, parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void sharedObjectsAreVisitedOnce() {
+        Order order = order(1000);
+
+        List<Object> shops = ReflectUtil.getValueList(order, Order.class, "Shop_shopId", PARALLEL);
+
+        assertEquals(100, shops.size());
+        assertEquals(ReflectUtil.getValueList(order, Order.class, "Shop_shopId"), shops);
+    }
+
+    @Test
+    public void removeObjectMatchesSequential() {
+        Map<String, Map<String, List<Object>>> filterMap = filterMap("Item", "productId", 1L, 17L, 500L, 999L);
+        Order sequential = ReflectUtil.removeObject(order(1000), filterMap);
+        Order order = order(1000);
+
+        assertSame(order, ReflectUtil.removeObject(order, RemoveFilter.compile(filterMap), PARALLEL));
+
+        assertEquals(4, order.items.size());
+        assertEquals(ReflectUtil.getValueList(sequential, Order.class, "Item_productId"),
+                ReflectUtil.getValueList(order, Order.class, "Item_productId"));
+    }
+
+    /**
+     * 共用的shop下面的skus只被一个任务压缩
+     */
+    @Test
+    public void sharedNestedListsAreCompactedOnce() {
+        Order order = order(1000);
+
+        ReflectUtil.removeObject(order, RemoveFilter.compile(filterMap("Sku", "skuId", 1L)), PARALLEL);
+
+        assertEquals(1000, order.items.size());
+        for (Item item : order.items) {
+            assertEquals(1, item.shop.skus.size());
+            assertEquals(Long.valueOf(1), item.shop.skus.get(0).skuId);
+        }
+    }
+}
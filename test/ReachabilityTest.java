@@ -0,0 +1,174 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:可达性剪枝：字段声明为父类、值为带有需要字段的子类时不能跳过；final类型按声明类型跳过
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class ReachabilityTest {
+
+    static class Item {
+        Long productId;
+    }
+
+    static class SpecialItem extends Item {
+        String extra;
+    }
+
+    static class Holder {
+        Item head;
+        List<Item> items;
+    }
+
+    static final class Log {
+        String action;
+    }
+
+    static final class Audited {
+        Long id;
+        List<Log> logs;
+    }
+
+    static class Entry {
+        String action;
+    }
+
+    static class Order {
+        Long id;
+        List<Entry> entries;
+    }
+
+    /**
+     * 记录元素被读取的次数
+     */
+    static class CountingList<T> extends ArrayList<T> {
+        private static final long serialVersionUID = 1L;
+
+        int reads;
+
+        @Override
+        public T get(int index) {
+            reads++;
+            return super.get(index);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            reads++;
+            return super.iterator();
+        }
+    }
+
+    private static Item item(long productId) {
+        Item item = new Item();
+        item.productId = productId;
+        return item;
+    }
+
+    private static SpecialItem special(long productId, String extra) {
+        SpecialItem item = new SpecialItem();
+        item.productId = productId;
+        item.extra = extra;
+        return item;
+    }
+
+    private static Holder holder() {
+        Holder holder = new Holder();
+        holder.head = special(0, "HX");
+        holder.items = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            holder.items.add(i % 2 == 1 ? special(i, "x" + i) : item(i));
+        }
+        return holder;
+    }
+
+    @Test
+    public void subclassFieldsBehindDeclaredSuperTypeAreFound() {
+        List<Object> values = ReflectUtil.getValueList(holder(), Holder.class, "SpecialItem_extra");
+
+        assertEquals(new HashSet<Object>(Arrays.asList("HX", "x1", "x3", "x5")), new HashSet<>(values));
+        assertEquals(4, values.size());
+    }
+
+    @Test
+    public void subclassFieldsBehindDeclaredSuperTypeAreFiltered() {
+        Holder holder = holder();
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("extra", Collections.<Object>singletonList("x1"));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("SpecialItem", keyMap);
+
+        assertSame(holder, ReflectUtil.removeObject(holder, filterMap));
+
+        //x3、x5被删除，普通Item没有extra字段不受影响，head被置为null
+        assertEquals(4, holder.items.size());
+        assertEquals("x1", ((SpecialItem) holder.items.get(0)).extra);
+        assertNull(holder.head);
+    }
+
+    /**
+     * Log是final的并且没有需要的字段，logs不会进入
+     */
+    @Test
+    public void finalTypesArePrunedByDeclaration() {
+        Audited audited = new Audited();
+        audited.id = 7L;
+        CountingList<Log> logs = new CountingList<>();
+        for (int i = 0; i < 100; i++) {
+            Log log = new Log();
+            log.action = "a" + i;
+            logs.add(log);
+        }
+        audited.logs = logs;
+
+        List<Object> values = ReflectUtil.getValueList(audited, Audited.class, "Audited_id");
+
+        assertEquals(Collections.<Object>singletonList(7L), values);
+        assertEquals(0, logs.reads);
+    }
+
+    /**
+     * Entry不是final，默认进入entries；信任声明类型后按声明类型跳过，放在声明为父类的字段里的子类字段也不再查找
+     */
+    @Test
+    public void declaredTypesArePrunedWhenTrusted() {
+        Order order = new Order();
+        order.id = 7L;
+        CountingList<Entry> entries = new CountingList<>();
+        for (int i = 0; i < 100; i++) {
+            Entry entry = new Entry();
+            entry.action = "a" + i;
+            entries.add(entry);
+        }
+        order.entries = entries;
+        TraverseOptions trusted = TraverseOptions.DEFAULT.trustDeclaredTypes(true);
+
+        assertEquals(Collections.<Object>singletonList(7L), ReflectUtil.getValueList(order, Order.class, "Order_id"));
+        assertTrue(entries.reads > 0);
+        entries.reads = 0;
+
+        assertEquals(Collections.<Object>singletonList(7L), ReflectUtil.getValueList(order, Order.class, "Order_id", trusted));
+        assertEquals(0, entries.reads);
+        assertEquals(100, ReflectUtil.getValueList(order, Order.class, "Entry_action", trusted).size());
+        assertTrue(ReflectUtil.getValueList(holder(), Holder.class, "SpecialItem_extra", trusted).isEmpty());
+    }
+}
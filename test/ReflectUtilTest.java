@@ -0,0 +1,172 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:getValueList、getValueSets取值
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class ReflectUtilTest {
+
+    static class Shop {
+        Long shopId;
+        String shopName;
+    }
+
+    static class Item {
+        Long productId;
+        String skuCode;
+        Shop shop;
+    }
+
+    static class Order {
+        Long orderId;
+        List<Item> items;
+    }
+
+    static class Product {
+        Long id;
+        String name;
+
+        Product(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static class BaseCatalog {
+        Product fallback;
+    }
+
+    /**
+     * 自己的字段按声明顺序，然后是父类的字段
+     */
+    static class Catalog extends BaseCatalog {
+        Product main;
+        List<Product> others;
+    }
+
+    static class Line {
+        Long productId;
+        String name;
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.orderId = 100L;
+        order.items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Item item = new Item();
+            item.productId = (long) (i % 3);
+            item.skuCode = i == 5 ? null : "s" + i;
+            item.shop = new Shop();
+            item.shop.shopId = (long) (i % 2);
+            item.shop.shopName = "shop" + (i % 2);
+            order.items.add(item);
+        }
+        return order;
+    }
+
+    private static Set<Object> set(Object... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    private static Catalog catalog(long mainId, long otherId, long fallbackId) {
+        Catalog catalog = new Catalog();
+        catalog.main = new Product(mainId, "main");
+        catalog.others = new ArrayList<>(Arrays.asList(new Product(otherId, "other"), new Product(mainId, "other-dup")));
+        catalog.fallback = new Product(fallbackId, "fallback");
+        return catalog;
+    }
+
+    @Test
+    public void getValueListReturnsDistinctNonNullValues() {
+        Order order = order();
+
+        assertEquals(set(0L, 1L, 2L), new HashSet<>(ReflectUtil.getValueList(order, Order.class, "Item_productId")));
+        assertEquals(3, ReflectUtil.getValueList(order, Order.class, "Item_productId").size());
+        assertEquals(5, ReflectUtil.getValueList(order, Order.class, "Item_skuCode").size());
+        assertTrue(ReflectUtil.getValueList(order, Order.class, "Item_missing").isEmpty());
+        assertTrue(ReflectUtil.getValueList(order, Order.class, "").isEmpty());
+    }
+
+    @Test
+    public void getValueListReadsOwnNestedAndSuperFields() {
+        List<Object> ids = ReflectUtil.getValueList(catalog(1, 2, 3), Catalog.class, "Product_id");
+
+        assertEquals(set(1L, 2L, 3L), new HashSet<>(ids));
+        assertEquals(3, ids.size());
+    }
+
+    /**
+     * 比对值重复时FIRST取遍历顺序中的第一个：自己的字段、字段中的对象、父类的字段
+     */
+    @Test
+    public void firstPolicyFollowsTraversalOrder() {
+        CopyPlan plan = CopyPlan.compile(Collections.singletonMap("Product_id", "Line_productId"), null, null);
+        Catalog catalog = catalog(1, 1, 1);
+        Line line = new Line();
+        line.productId = 1L;
+
+        plan.applyAll(Collections.singletonList(catalog), Collections.singletonList(line), CopyPlan.DuplicatePolicy.FIRST);
+        assertEquals("main", line.name);
+
+        catalog.main = null;
+        plan.applyAll(Collections.singletonList(catalog), Collections.singletonList(line), CopyPlan.DuplicatePolicy.FIRST);
+        assertEquals("other", line.name);
+
+        catalog.others.clear();
+        plan.applyAll(Collections.singletonList(catalog), Collections.singletonList(line), CopyPlan.DuplicatePolicy.FIRST);
+        assertEquals("fallback", line.name);
+    }
+
+    @Test
+    public void getValueSetsCollectsEveryKeyInOneWalk() {
+        Order order = order();
+
+        Map<String, Set<Object>> valueSets = ReflectUtil.getValueSets(order, Order.class,
+                Arrays.asList("Shop_shopId", "Item_productId", "Order_orderId", "Item_missing"));
+
+        assertEquals(Arrays.asList("Shop_shopId", "Item_productId", "Order_orderId", "Item_missing"), new ArrayList<>(valueSets.keySet()));
+        assertEquals(set(0L, 1L), valueSets.get("Shop_shopId"));
+        assertEquals(set(0L, 1L, 2L), valueSets.get("Item_productId"));
+        assertEquals(set(100L), valueSets.get("Order_orderId"));
+        assertTrue(valueSets.get("Item_missing").isEmpty());
+    }
+
+    @Test
+    public void getValueSetsMatchesGetValueList() {
+        Order order = order();
+        List<String> uniqueNames = Arrays.asList("Item_skuCode", "Shop_shopName");
+
+        Map<String, Set<Object>> valueSets = ReflectUtil.getValueSets(order, Order.class, uniqueNames);
+
+        for (String uniqueName : uniqueNames) {
+            assertEquals(new HashSet<>(ReflectUtil.getValueList(order, Order.class, uniqueName)), valueSets.get(uniqueName));
+        }
+    }
+
+    @Test
+    public void getValueSetsWithoutDataKeepsTheKeys() {
+        Map<String, Set<Object>> valueSets = ReflectUtil.getValueSets(null, Order.class, Collections.singletonList("Item_productId"));
+
+        assertEquals(Collections.singleton("Item_productId"), valueSets.keySet());
+        assertTrue(valueSets.get("Item_productId").isEmpty());
+        assertTrue(ReflectUtil.getValueSets(order(), Order.class, Collections.<String>emptyList()).isEmpty());
+    }
+}
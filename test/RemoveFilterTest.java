@@ -0,0 +1,146 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:编译好的过滤条件：整数允许值不装箱判断，值的类型与List.contains的比较保持一致，null不允许
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class RemoveFilterTest {
+
+    static class Base {
+        String region;
+    }
+
+    static class Item extends Base {
+        Long productId;
+        int quantity;
+        String skuCode;
+        List<String> tags;
+    }
+
+    private static Item item(Long productId, int quantity, String skuCode, String region) {
+        Item item = new Item();
+        item.productId = productId;
+        item.quantity = quantity;
+        item.skuCode = skuCode;
+        item.region = region;
+        return item;
+    }
+
+    private static RemoveFilter filter(String className, String field, Object... allowed) {
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put(field, Arrays.asList(allowed));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put(className, keyMap);
+        return RemoveFilter.compile(filterMap);
+    }
+
+    private static boolean rejects(RemoveFilter filter, Item item) {
+        return filter.rejects(item, ClassInfo.of(Item.class));
+    }
+
+    @Test
+    public void wrapperFieldsMatchAllowedValuesOfTheSameType() {
+        RemoveFilter filter = filter("Item", "productId", 1L, 2L);
+
+        assertFalse(rejects(filter, item(1L, 0, null, null)));
+        assertTrue(rejects(filter, item(3L, 0, null, null)));
+        assertTrue(rejects(filter, item(null, 0, null, null)));
+        //Integer的允许值与Long字段不相等，与List.contains一致
+        assertTrue(rejects(filter("Item", "productId", 1, 2), item(1L, 0, null, null)));
+    }
+
+    @Test
+    public void primitiveFieldsAreTestedWithoutBoxing() {
+        RemoveFilter filter = filter("Item", "quantity", 2, 4);
+
+        assertFalse(rejects(filter, item(1L, 4, null, null)));
+        assertTrue(rejects(filter, item(1L, 3, null, null)));
+    }
+
+    @Test
+    public void otherValuesUseEquals() {
+        RemoveFilter filter = filter("Item", "skuCode", "a", "b");
+
+        assertFalse(rejects(filter, item(1L, 0, "a", null)));
+        assertTrue(rejects(filter, item(1L, 0, "c", null)));
+        assertTrue(rejects(filter, item(1L, 0, null, null)));
+    }
+
+    @Test
+    public void superClassFieldsAreFilteredByTheirOwnClassName() {
+        RemoveFilter filter = filter("Base", "region", "cn");
+
+        assertFalse(rejects(filter, item(1L, 0, null, "cn")));
+        assertTrue(rejects(filter, item(1L, 0, null, "us")));
+        //按Item的类名配置时，父类的字段不判断
+        assertFalse(rejects(filter("Item", "region", "cn"), item(1L, 0, null, "us")));
+    }
+
+    @Test
+    public void listAndUnknownFieldsAreIgnored() {
+        Item item = item(1L, 0, null, null);
+        item.tags = Collections.singletonList("x");
+
+        assertFalse(rejects(filter("Item", "tags", "y"), item));
+        assertFalse(rejects(filter("Item", "missing", "y"), item));
+        assertFalse(rejects(filter("Order", "productId", 2L), item));
+    }
+
+    @Test
+    public void longHashSetAllowsAnyIntegralField() {
+        RemoveFilter filter = RemoveFilter.compile(null)
+                .allow("Item", "productId", LongHashSet.of(1, 2))
+                .allow("Item", "quantity", LongHashSet.of(5));
+
+        assertFalse(rejects(filter, item(2L, 5, null, null)));
+        assertTrue(rejects(filter, item(3L, 5, null, null)));
+        assertTrue(rejects(filter, item(2L, 6, null, null)));
+    }
+
+    @Test
+    public void allowAndCompileDoNotShareState() {
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", Arrays.<Object>asList(1L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Item", keyMap);
+        RemoveFilter filter = RemoveFilter.compile(filterMap);
+        keyMap.put("productId", Arrays.<Object>asList(3L));
+        LongHashSet allowed = LongHashSet.of(2);
+        RemoveFilter narrowed = filter.allow("Item", "quantity", allowed);
+        allowed.add(7);
+
+        assertFalse(rejects(filter, item(1L, 7, null, null)));
+        assertTrue(rejects(narrowed, item(1L, 7, null, null)));
+        assertFalse(rejects(narrowed, item(1L, 2, null, null)));
+        assertTrue(RemoveFilter.compile(null).isEmpty());
+        assertFalse(narrowed.isEmpty());
+    }
+
+    @Test
+    public void mapNodesFollowTheSameRules() {
+        RemoveFilter filter = filter("Item", "productId", 1L);
+        Map<String, Object> node = new HashMap<>();
+
+        assertTrue(filter.rejects(node, "Item"));
+        node.put("productId", 1L);
+        assertFalse(filter.rejects(node, "Item"));
+        node.put("productId", 2L);
+        assertTrue(filter.rejects(node, "Item"));
+        assertFalse(filter.rejects(node, "Order"));
+    }
+}
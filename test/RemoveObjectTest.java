@@ -0,0 +1,132 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:removeObject删除list中不符合条件的元素，保留的元素顺序不变，RandomAccess和非RandomAccess的list结果一致
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class RemoveObjectTest {
+
+    static class Sku {
+        Long skuId;
+    }
+
+    static class Item {
+        Long productId;
+        List<Sku> skus;
+    }
+
+    static class Order {
+        List<Item> items;
+    }
+
+    private static Item item(long productId, long... skuIds) {
+        Item item = new Item();
+        item.productId = productId;
+        item.skus = new ArrayList<>();
+        for (long skuId : skuIds) {
+            Sku sku = new Sku();
+            sku.skuId = skuId;
+            item.skus.add(sku);
+        }
+        return item;
+    }
+
+    private static Map<String, Map<String, List<Object>>> filterMap(String className, String field, Object... keep) {
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put(field, Arrays.asList(keep));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put(className, keyMap);
+        return filterMap;
+    }
+
+    private static List<Long> productIds(List<Item> items) {
+        List<Long> ids = new ArrayList<>();
+        for (Item item : items) {
+            ids.add(item.productId);
+        }
+        return ids;
+    }
+
+    private static void removesAndKeepsOrder(List<Item> items) {
+        for (long i = 0; i < 1000; i++) {
+            items.add(item(i % 10));
+        }
+        Order order = new Order();
+        order.items = items;
+
+        assertSame(order, ReflectUtil.removeObject(order, filterMap("Item", "productId", 3L, 7L)));
+
+        assertSame(items, order.items);
+        assertEquals(200, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(Long.valueOf(i % 2 == 0 ? 3 : 7), items.get(i).productId);
+        }
+    }
+
+    @Test
+    public void randomAccessListsAreCompactedInOrder() {
+        removesAndKeepsOrder(new ArrayList<Item>());
+    }
+
+    @Test
+    public void linkedListsAreFilteredInOrder() {
+        removesAndKeepsOrder(new LinkedList<Item>());
+    }
+
+    @Test
+    public void nestedListsAreCompactedToo() {
+        List<Item> items = new ArrayList<>(Arrays.asList(item(1, 1, 2, 3, 2), item(2, 2), item(3, 4)));
+
+        ReflectUtil.removeObject(items, filterMap("Sku", "skuId", 2L));
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), productIds(items));
+        assertEquals(2, items.get(0).skus.size());
+        assertEquals(1, items.get(1).skus.size());
+        assertTrue(items.get(2).skus.isEmpty());
+    }
+
+    /**
+     * Arrays.asList可以set但不能删除，与原来的迭代器删除一致抛出UnsupportedOperationException，list不会只前移了一半
+     */
+    @Test
+    public void fixedSizeListsAreNotCorrupted() {
+        List<Item> items = Arrays.asList(item(1), item(2), item(3));
+        List<Item> before = new ArrayList<>(items);
+
+        try {
+            ReflectUtil.removeObject(items, filterMap("Item", "productId", 1L, 3L));
+            fail("expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(before, items);
+        }
+        //没有要删除的元素时不修改list
+        assertSame(items, ReflectUtil.removeObject(items, filterMap("Item", "productId", 1L, 2L, 3L)));
+    }
+
+    @Test
+    public void everythingCanBeRemoved() {
+        List<Item> items = new ArrayList<>(Arrays.asList(item(1), item(2)));
+
+        ReflectUtil.removeObject(items, filterMap("Item", "productId", 9L));
+
+        assertTrue(items.isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:streamValues按遍历顺序返回，短路操作不再继续遍历
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class StreamValuesTest {
+
+    static class Item {
+        Long productId;
+
+        Item(long productId) {
+            this.productId = productId;
+        }
+    }
+
+    static class Order {
+        List<Item> items;
+    }
+
+    /**
+     * 记录被读取到的下标
+     */
+    static class CountingList extends ArrayList<Item> {
+        private static final long serialVersionUID = 1L;
+
+        int maxIndex = -1;
+
+        @Override
+        public Item get(int index) {
+            maxIndex = Math.max(maxIndex, index);
+            return super.get(index);
+        }
+    }
+
+    private static Order order(int size, long... ids) {
+        Order order = new Order();
+        order.items = new CountingList();
+        for (int i = 0; i < size; i++) {
+            order.items.add(new Item(ids[i % ids.length]));
+        }
+        return order;
+    }
+
+    @Test
+    public void returnsValuesInTraversalOrder() {
+        Order order = order(6, 3, 1, 3, 2);
+
+        List<Object> all = ReflectUtil.streamValues(order, Order.class, "Item_productId", false).collect(Collectors.toList());
+        List<Object> distinct = ReflectUtil.streamValues(order, Order.class, "Item_productId", true).collect(Collectors.toList());
+
+        assertEquals(Arrays.<Object>asList(3L, 1L, 3L, 2L, 3L, 1L), all);
+        assertEquals(Arrays.<Object>asList(3L, 1L, 2L), distinct);
+        assertEquals(new HashSet<>(ReflectUtil.getValueList(order, Order.class, "Item_productId")), new HashSet<>(distinct));
+    }
+
+    @Test
+    public void shortCircuitStopsTheWalk() {
+        Order order = order(10000, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        assertTrue(ReflectUtil.streamValues(order, Order.class, "Item_productId", false).anyMatch(new Predicate<Object>() {
+            @Override
+            public boolean test(Object value) {
+                return value.equals(5L);
+            }
+        }));
+
+        assertEquals(4, ((CountingList) order.items).maxIndex);
+    }
+
+    @Test
+    public void limitAfterDistinctStopsAtTheLimit() {
+        Order order = order(10000, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        assertEquals(3, ReflectUtil.streamValues(order, Order.class, "Item_productId", true).limit(3).count());
+        assertTrue(((CountingList) order.items).maxIndex < 10);
+    }
+
+    @Test
+    public void missingFieldOrRootGivesEmptyStream() {
+        assertFalse(ReflectUtil.streamValues(null, Order.class, "Item_productId", false).findFirst().isPresent());
+        assertFalse(ReflectUtil.streamValues(order(5, 1), Order.class, "Item_skuCode", false).findFirst().isPresent());
+    }
+}
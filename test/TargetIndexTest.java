@@ -0,0 +1,148 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:目标对象的比对索引：建立一次后多次赋值，子对象增加、删除、比对值修改后增量维护
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class TargetIndexTest {
+
+    private static final CopyPlan PLAN = CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, null);
+
+    static class Product {
+        Long id;
+        String name;
+
+        Product(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static class Item {
+        Long productId;
+        String name;
+
+        Item(long productId) {
+            this.productId = productId;
+        }
+    }
+
+    static class Order {
+        List<Item> items = new ArrayList<>();
+    }
+
+    private static Order order(long... productIds) {
+        Order order = new Order();
+        for (long productId : productIds) {
+            order.items.add(new Item(productId));
+        }
+        return order;
+    }
+
+    @Test
+    public void indexedTargetsReceiveEveryApply() {
+        Order order = order(1, 2);
+        TargetIndex index = PLAN.index(order);
+
+        index.apply(Arrays.asList(new Product(1, "a"), new Product(2, "b")));
+        assertEquals(2, index.size());
+        assertEquals("a", order.items.get(0).name);
+
+        index.apply(Collections.singletonList(new Product(1, "a2")));
+        assertEquals("a2", order.items.get(0).name);
+        assertEquals("b", order.items.get(1).name);
+    }
+
+    @Test
+    public void addedItemsAreIndexedOnce() {
+        Order order = order(1);
+        TargetIndex index = PLAN.index(order);
+        Item added = new Item(5);
+        order.items.add(added);
+
+        assertFalse(index.add(added));
+        assertFalse(index.add(added));
+        assertFalse(index.add(order));
+        assertEquals(2, index.size());
+
+        index.applyAll(Arrays.asList(new Product(5, "e"), new Product(1, "a")), CopyPlan.DuplicatePolicy.FIRST);
+        assertEquals("e", added.name);
+        assertEquals("a", order.items.get(0).name);
+    }
+
+    @Test
+    public void removedItemsAreNoLongerWritten() {
+        Order order = order(1, 2, 3);
+        TargetIndex index = PLAN.index(order);
+        Item removed = order.items.remove(1);
+
+        index.remove(removed);
+
+        assertEquals(2, index.size());
+        index.apply(Arrays.asList(new Product(1, "a"), new Product(2, "b"), new Product(3, "c")));
+        assertNull(removed.name);
+        assertEquals("c", order.items.get(1).name);
+    }
+
+    /**
+     * 比对值修改后，按放入时的值删除，按新值放入
+     */
+    @Test
+    public void updatedKeysMoveToTheNewValue() {
+        Order order = order(1, 2);
+        TargetIndex index = PLAN.index(order);
+        Item item = order.items.get(0);
+        item.productId = 9L;
+
+        assertFalse(index.update(item));
+
+        index.apply(Arrays.asList(new Product(1, "old"), new Product(9, "new")));
+        assertEquals("new", item.name);
+        assertEquals(2, index.size());
+
+        item.productId = 1L;
+        index.remove(item);
+        assertEquals(1, index.size());
+        index.apply(Collections.singletonList(new Product(9, "again")));
+        assertEquals("new", item.name);
+    }
+
+    @Test
+    public void filteredItemsAreNotIndexed() {
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", Arrays.<Object>asList(1L, 2L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Item", keyMap);
+        CopyPlan plan = CopyPlan.compile(Collections.singletonMap("Product_id", "Item_productId"), null, filterMap);
+        Order order = order(1, 3, 2);
+        TargetIndex index = plan.index(order);
+
+        assertEquals(2, order.items.size());
+        assertEquals(2, index.size());
+        assertTrue(index.add(new Item(4)));
+        assertEquals(2, index.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void pathPlansCannotBeIndexed() {
+        CopyPlan.compile(Product.class, Order.class, Collections.singletonMap("id", "items[*].productId"), null, null).index(order(1));
+    }
+}
@@ -0,0 +1,154 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:调用统计：按入口方法和rootClass汇总，慢调用通知，监听器异常不影响调用，并行遍历的计数合并后与顺序遍历一致
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class TraversalMetricsTest {
+
+    static class Item {
+        Long productId;
+    }
+
+    static class Order {
+        List<Item> items;
+    }
+
+    private static Order order(int size) {
+        Order order = new Order();
+        order.items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.productId = (long) (i % 5);
+            order.items.add(item);
+        }
+        return order;
+    }
+
+    private static TraverseOptions options(MetricsAggregator aggregator) {
+        return TraverseOptions.DEFAULT.metrics(TraversalMetrics.of(aggregator).jfr(false));
+    }
+
+    private static MetricsAggregator.Stats stats(MetricsAggregator aggregator, String entryPoint) {
+        return aggregator.snapshot().get(entryPoint + " " + Order.class.getName());
+    }
+
+    @Test
+    public void callsAreAggregatedPerEntryPointAndClass() {
+        MetricsAggregator aggregator = new MetricsAggregator();
+        TraverseOptions options = options(aggregator);
+        Order order = order(100);
+
+        ReflectUtil.getValueList(order, Order.class, "Item_productId", options);
+        ReflectUtil.getValueList(order, Order.class, "Item_productId", options);
+        ReflectUtil.getLongSet(order, Order.class, "Item_productId", options);
+
+        MetricsAggregator.Stats stats = stats(aggregator, "getValueList");
+        assertEquals(2, aggregator.snapshot().size());
+        assertEquals(2, stats.calls());
+        assertEquals(200, stats.elementsScanned());
+        assertEquals(200, stats.matches());
+        assertEquals(0, stats.slowCalls());
+        assertTrue(stats.maxNanos() <= stats.nanos());
+        assertEquals(1, stats(aggregator, "getLongSet").calls());
+
+        aggregator.reset();
+        assertTrue(aggregator.snapshot().isEmpty());
+    }
+
+    @Test
+    public void removalsAreCounted() {
+        MetricsAggregator aggregator = new MetricsAggregator();
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("productId", Arrays.<Object>asList(0L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Item", keyMap);
+
+        ReflectUtil.removeObject(order(100), RemoveFilter.compile(filterMap), options(aggregator));
+
+        assertEquals(80, stats(aggregator, "removeObject").removals());
+    }
+
+    @Test
+    public void slowCallsAreReportedAfterOnCall() {
+        final List<String> events = new ArrayList<>();
+        MetricsListener listener = new MetricsListener() {
+            @Override
+            public void onCall(CallMetrics metrics) {
+                events.add("call " + metrics.entryPoint());
+            }
+
+            @Override
+            public void onSlowCall(CallMetrics metrics) {
+                events.add("slow " + metrics.entryPoint());
+            }
+        };
+        TraverseOptions options = TraverseOptions.DEFAULT.metrics(TraversalMetrics.of(listener).slowThreshold(0).jfr(false));
+
+        ReflectUtil.getValueList(order(10), Order.class, "Item_productId", options);
+
+        assertEquals(Arrays.asList("call getValueList", "slow getValueList"), events);
+    }
+
+    @Test
+    public void listenerFailuresDoNotBreakTheCall() {
+        MetricsListener listener = new MetricsListener() {
+            @Override
+            public void onCall(CallMetrics metrics) {
+                throw new IllegalStateException("listener");
+            }
+
+            @Override
+            public void onSlowCall(CallMetrics metrics) {
+            }
+        };
+
+        List<Object> values = ReflectUtil.getValueList(order(10), Order.class, "Item_productId",
+                TraverseOptions.DEFAULT.metrics(TraversalMetrics.of(listener)));
+
+        assertEquals(5, values.size());
+    }
+
+    @Test
+    public void parallelCountsMatchSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MetricsAggregator sequential = new MetricsAggregator();
+            MetricsAggregator parallel = new MetricsAggregator();
+            Order order = order(1000);
+
+            ReflectUtil.getValueList(order, Order.class, "Item_productId", options(sequential));
+            ReflectUtil.getValueList(order, Order.class, "Item_productId", options(parallel).parallel(16, pool));
+
+            MetricsAggregator.Stats expected = stats(sequential, "getValueList");
+            MetricsAggregator.Stats actual = stats(parallel, "getValueList");
+            assertEquals(expected.objectsVisited(), actual.objectsVisited());
+            assertEquals(expected.fieldsRead(), actual.fieldsRead());
+            assertEquals(expected.elementsScanned(), actual.elementsScanned());
+            assertEquals(expected.matches(), actual.matches());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSlowThresholdIsRejected() {
+        TraversalMetrics.of(null).slowThreshold(-1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:迭代遍历：层级很深的数据不会栈溢出，过滤、取值、赋值在一次遍历中完成
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class TraversalTest {
+
+    private static final int DEPTH = 100000;
+
+    static class Node {
+        Long id;
+        Node next;
+        List<Node> children;
+    }
+
+    static class Source {
+        Long id;
+        String name;
+    }
+
+    static class Target {
+        Long id;
+        String name;
+        Target next;
+    }
+
+    /**
+     * DEPTH层的链表，偶数层通过next连接，奇数层放在只有一个元素的children中
+     */
+    private static Node chain() {
+        Node root = new Node();
+        root.id = 0L;
+        Node current = root;
+        for (int i = 1; i < DEPTH; i++) {
+            Node node = new Node();
+            node.id = (long) i;
+            if (i % 2 == 0) {
+                current.next = node;
+            } else {
+                current.children = new ArrayList<>(Collections.singletonList(node));
+            }
+            current = node;
+        }
+        return root;
+    }
+
+    @Test
+    public void deepGraphsDoNotOverflowTheStack() {
+        Node root = chain();
+
+        assertEquals(DEPTH, ReflectUtil.getValueList(root, Node.class, "Node_id").size());
+        assertEquals(DEPTH, ReflectUtil.getValueList(root, Node.class, "Node_id", TraverseOptions.DEFAULT.trackVisited(false)).size());
+        assertEquals(DEPTH, ReflectUtil.getLongSet(root, Node.class, "Node_id").size());
+    }
+
+    @Test
+    public void deepGraphsCanBeFilteredAndCopied() {
+        Node root = chain();
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        List<Object> allowed = new ArrayList<>();
+        for (long i = 0; i < DEPTH / 2; i++) {
+            allowed.add(i);
+        }
+        keyMap.put("id", allowed);
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Node", keyMap);
+
+        ReflectUtil.removeObject(root, filterMap);
+        Node copy = ReflectUtil.deepCopy(root);
+
+        assertEquals(DEPTH / 2, ReflectUtil.getValueList(root, Node.class, "Node_id").size());
+        assertEquals(DEPTH / 2, ReflectUtil.getValueList(copy, Node.class, "Node_id").size());
+    }
+
+    @Test
+    public void deepTargetsAreCopiedInOneWalk() {
+        Target root = new Target();
+        Target current = root;
+        current.id = 0L;
+        for (int i = 1; i < DEPTH; i++) {
+            current.next = new Target();
+            current = current.next;
+            current.id = (long) (i % 3);
+        }
+        List<Source> sources = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Source source = new Source();
+            source.id = (long) i;
+            source.name = "n" + i;
+            sources.add(source);
+        }
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("id", Arrays.<Object>asList(0L, 1L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Target", keyMap);
+
+        ReflectUtil.copyValue(sources, root, Collections.singletonMap("Source_id", "Target_id"), null, filterMap);
+
+        //id为2的第三层被过滤掉，链表在这里断开
+        assertNull(root.next.next);
+        assertEquals("n0", root.name);
+        assertEquals("n1", root.next.name);
+    }
+}
@@ -0,0 +1,160 @@
+package com.coocaa.lite.os.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by IntelliJ IDEA.
+ *
+ * @author: olife
+ * description:按地址记录访问过的对象：共用的对象只遍历一次，循环引用不会无限遍历，不调用对象的equals/hashCode
+ * date: 2026/10/18
+ * version: 1.0
+ */
+public class VisitedSetTest {
+
+    /**
+     * 所有对象都相等，按equals记录时只会访问第一个
+     */
+    static class Node {
+        Long id;
+        Node parent;
+        List<Node> children = new ArrayList<>();
+
+        Node(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Node;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    /**
+     * 记录元素被读取的次数
+     */
+    static class CountingList extends ArrayList<Node> {
+        private static final long serialVersionUID = 1L;
+
+        int reads;
+
+        @Override
+        public Node get(int index) {
+            reads++;
+            return super.get(index);
+        }
+    }
+
+    private static Node child(Node parent, long id) {
+        Node child = new Node(id);
+        child.parent = parent;
+        parent.children.add(child);
+        return child;
+    }
+
+    @Test
+    public void objectsAreComparedByIdentity() {
+        for (TraverseOptions options : Arrays.asList(TraverseOptions.DEFAULT, TraverseOptions.DEFAULT.parallel(1))) {
+            VisitedSet visited = VisitedSet.of(options);
+            Node a = new Node(1);
+            Node b = new Node(1);
+
+            assertTrue(visited.add(a));
+            assertTrue(visited.add(b));
+            assertFalse(visited.add(a));
+        }
+        assertNull(VisitedSet.of(TraverseOptions.DEFAULT.trackVisited(false)));
+    }
+
+    @Test
+    public void cyclesTerminateAndEveryNodeIsVisitedOnce() {
+        Node root = new Node(0);
+        for (int i = 1; i <= 3; i++) {
+            Node child = child(root, i);
+            child(child, i * 10);
+        }
+        root.parent = root.children.get(2).children.get(0);
+
+        List<Object> ids = ReflectUtil.getValueList(root, Node.class, "Node_id");
+
+        assertEquals(new HashSet<Object>(Arrays.asList(0L, 1L, 2L, 3L, 10L, 20L, 30L)), new HashSet<>(ids));
+    }
+
+    @Test
+    public void sharedObjectsAreWalkedOnce() {
+        Node shared = new Node(1000);
+        CountingList children = new CountingList();
+        shared.children = children;
+        child(shared, 90);
+        List<Node> roots = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Node node = new Node(i);
+            node.parent = shared;
+            roots.add(node);
+        }
+
+        List<Object> ids = ReflectUtil.getValueList(roots, ArrayList.class, "Node_id");
+
+        assertEquals(52, ids.size());
+        assertEquals(1, children.reads);
+    }
+
+    /**
+     * 共用的对象被过滤掉时，所有引用它的地方都删除
+     */
+    @Test
+    public void rejectedSharedObjectsAreRemovedEverywhere() {
+        Node shared = new Node(9);
+        List<Node> roots = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Node node = new Node(1);
+            node.children.add(shared);
+            node.children.add(new Node(1));
+            roots.add(node);
+        }
+        Map<String, List<Object>> keyMap = new HashMap<>();
+        keyMap.put("id", Arrays.<Object>asList(1L));
+        Map<String, Map<String, List<Object>>> filterMap = new HashMap<>();
+        filterMap.put("Node", keyMap);
+
+        ReflectUtil.removeObject(roots, filterMap);
+
+        assertEquals(3, roots.size());
+        for (Node node : roots) {
+            assertEquals(1, node.children.size());
+            assertTrue(Objects.equals(1L, node.children.get(0).id));
+        }
+    }
+
+    @Test
+    public void treesGiveTheSameResultWithoutTracking() {
+        Node root = new Node(0);
+        for (int i = 1; i <= 5; i++) {
+            child(child(root, i), i * 10).parent = null;
+        }
+        for (Node child : root.children) {
+            child.parent = null;
+        }
+
+        assertEquals(new HashSet<>(ReflectUtil.getValueList(root, Node.class, "Node_id")),
+                new HashSet<>(ReflectUtil.getValueList(root, Node.class, "Node_id", TraverseOptions.DEFAULT.trackVisited(false))));
+    }
+}